@@ -45,6 +45,8 @@ public class PerformanceZone {
 
     /** The year to test. */
     private static final int YEAR = 1980;
+    /** The year to test, beyond the last historic transition. */
+    private static final int RECENT_YEAR = 2012;
     /** Size. */
     private static final NumberFormat NF = NumberFormat.getIntegerInstance();
     static {
@@ -66,6 +68,7 @@ public class PerformanceZone {
             jsrInstantGetOffset();
             jsrRulesLocalGetOffset();
             jsrRulesInstantGetOffset();
+            jsrRulesRecentInstantGetOffset();
             jdkLocalGetOffset();
             jdkInstantGetOffset();
             System.out.println();
@@ -124,6 +127,19 @@ public class PerformanceZone {
         System.out.println("JSR-InR: Setup:  " + NF.format(end - start) + " ns" + list[0]);
     }
 
+    //-----------------------------------------------------------------------
+    private static void jsrRulesRecentInstantGetOffset() {
+        long epochSec = LocalDateTime.of(RECENT_YEAR, 6, 1, 12, 0).toEpochSecond(ZoneOffset.ofHours(1));
+        ZoneRules tz = ZoneId.of("Europe/London").getRules();
+        ZoneOffset[] list = new ZoneOffset[SIZE];
+        long start = System.nanoTime();
+        for (int i = 0; i < SIZE; i++) {
+            list[i] = tz.getOffset(epochSec + i);
+        }
+        long end = System.nanoTime();
+        System.out.println("JSR-InC: Setup:  " + NF.format(end - start) + " ns" + list[0]);
+    }
+
     //-----------------------------------------------------------------------
     private static void jdkLocalGetOffset() {
         java.util.TimeZone tz = java.util.TimeZone.getTimeZone("Europe/London");
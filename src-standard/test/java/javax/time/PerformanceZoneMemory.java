@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2009-2012, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package javax.time;
+
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.time.zone.ZoneRules;
+import javax.time.zone.ZoneRulesProvider;
+
+/**
+ * Test the heap retained by the zone rules.
+ * <p>
+ * This loads the rules of every version of every zone, as found on the
+ * classpath, such as from jsr-310-TZDB-all.jar, and reports the heap retained.
+ * The rules are then used, to populate any internal caches, and the heap reported again.
+ * This should be run in a new JVM with a single TZDB data file on the classpath.
+ */
+public class PerformanceZoneMemory {
+
+    /** Size. */
+    private static final NumberFormat NF = NumberFormat.getIntegerInstance();
+    static {
+        NF.setGroupingUsed(true);
+    }
+
+    /**
+     * Main.
+     * @param args  the arguments
+     */
+    public static void main(String[] args) {
+        // ensure provider and its data file are loaded before the baseline
+        ZoneRulesProvider.getAvailableZoneIds();
+        long baseline = usedHeap();
+
+        List<ZoneRules> loaded = new ArrayList<>();
+        Map<ZoneRules, Boolean> distinct = new IdentityHashMap<>();
+        for (String zoneId : ZoneRulesProvider.getAvailableZoneIds()) {
+            for (ZoneRules rules : ZoneRulesProvider.getVersions(zoneId).values()) {
+                loaded.add(rules);
+                distinct.put(rules, Boolean.TRUE);
+            }
+        }
+        long afterLoad = usedHeap();
+
+        Instant instant = Instant.ofEpochSecond(1_300_000_000L);
+        LocalDateTime dateTime = LocalDateTime.of(2011, 3, 13, 2, 30);
+        for (ZoneRules rules : distinct.keySet()) {
+            rules.getOffset(instant);
+            rules.getOffset(dateTime);
+            if (rules.isFixedOffset() == false) {
+                rules.nextTransition(instant);
+            }
+            rules.getTransitions();
+        }
+        long afterUse = usedHeap();
+
+        System.out.println("Rules loaded:    " + NF.format(loaded.size()) + " (" + NF.format(distinct.size()) + " distinct)");
+        System.out.println("Retained loaded: " + NF.format(afterLoad - baseline) + " bytes");
+        System.out.println("Retained used:   " + NF.format(afterUse - baseline) + " bytes");
+        System.out.println("Per distinct:    " + NF.format((afterUse - baseline) / Math.max(distinct.size(), 1)) + " bytes");
+    }
+
+    /**
+     * Gets the used heap after garbage collection has settled.
+     *
+     * @return the used heap in bytes
+     */
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 10; i++) {
+            System.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            used = Math.min(used, runtime.totalMemory() - runtime.freeMemory());
+        }
+        return used;
+    }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2009-2012, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package javax.time;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.text.NumberFormat;
+
+/**
+ * Test Performance of the first zone lookup in a fresh JVM.
+ * <p>
+ * This must be run in a new JVM, as it measures the one-off cost of
+ * loading the zone rules providers and resolving the first zone.
+ */
+public class PerformanceZoneStartup {
+
+    /** The zone to lookup. */
+    private static final String ZONE_ID = "Europe/London";
+    /** Size. */
+    private static final NumberFormat NF = NumberFormat.getIntegerInstance();
+    static {
+        NF.setGroupingUsed(true);
+    }
+
+    /**
+     * Main.
+     * @param args  the arguments
+     */
+    public static void main(String[] args) {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        long startBytes = allocatedBytes(bean);
+        long start = System.nanoTime();
+        ZoneId zone = ZoneId.of(ZONE_ID);
+        long end = System.nanoTime();
+        long endBytes = allocatedBytes(bean);
+        System.out.println("First ZoneId.of(" + ZONE_ID + "): " + zone);
+        System.out.println("Time:      " + NF.format((end - start) / 1000) + " us");
+        if (startBytes >= 0 && endBytes >= 0) {
+            System.out.println("Allocated: " + NF.format(endBytes - startBytes) + " bytes");
+        } else {
+            System.out.println("Allocated: not supported by this JVM");
+        }
+    }
+
+    /**
+     * Gets the bytes allocated by the current thread, if supported.
+     *
+     * @param bean  the thread bean, not null
+     * @return the allocated bytes, or -1 if not supported
+     */
+    private static long allocatedBytes(ThreadMXBean bean) {
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+            if (sunBean.isThreadAllocatedMemorySupported()) {
+                return sunBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+
+}
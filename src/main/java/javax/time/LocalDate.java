@@ -191,7 +191,7 @@ public final class LocalDate
         Objects.requireNonNull(clock, "clock");
         // inline OffsetDate factory to avoid creating object and InstantProvider checks
         final Instant now = clock.instant();  // called once
-        ZoneOffset offset = clock.getZone().getRules().getOffset(now);
+        ZoneOffset offset = clock.getZone().getRules().getOffset(now.getEpochSecond());
         long epochSec = now.getEpochSecond() + offset.getTotalSeconds();  // overflow caught later
         long epochDay = Jdk8Methods.floorDiv(epochSec, SECONDS_PER_DAY);
         return LocalDate.ofEpochDay(epochDay);
@@ -155,7 +155,7 @@ public final class LocalDateTime
     public static LocalDateTime now(Clock clock) {
         Objects.requireNonNull(clock, "clock");
         final Instant now = clock.instant();  // called once
-        ZoneOffset offset = clock.getZone().getRules().getOffset(now);
+        ZoneOffset offset = clock.getZone().getRules().getOffset(now.getEpochSecond());
         return ofEpochSecond(now.getEpochSecond(), now.getNano(), offset);
     }
 
@@ -328,7 +328,7 @@ public final class LocalDateTime
         Objects.requireNonNull(instant, "instant");
         Objects.requireNonNull(zone, "zone");
         ZoneRules rules = zone.getRules();
-        ZoneOffset offset = rules.getOffset(instant);
+        ZoneOffset offset = rules.getOffset(instant.getEpochSecond());
         return ofEpochSecond(instant.getEpochSecond(), instant.getNano(), offset);
     }
 
@@ -139,7 +139,7 @@ public final class OffsetDate
     public static OffsetDate now(Clock clock) {
         Objects.requireNonNull(clock, "clock");
         final Instant now = clock.instant();  // called once
-        return ofInstant(now, clock.getZone().getRules().getOffset(now));
+        return ofInstant(now, clock.getZone().getRules().getOffset(now.getEpochSecond()));
     }
 
     //-----------------------------------------------------------------------
@@ -208,7 +208,7 @@ public final class OffsetDate
         Objects.requireNonNull(instant, "instant");
         Objects.requireNonNull(zone, "zone");
         ZoneRules rules = zone.getRules();
-        ZoneOffset offset = rules.getOffset(instant);
+        ZoneOffset offset = rules.getOffset(instant.getEpochSecond());
         long epochSec = instant.getEpochSecond() + offset.getTotalSeconds();  // overflow caught later
         long epochDay = Jdk8Methods.floorDiv(epochSec, SECONDS_PER_DAY);
         LocalDate date = LocalDate.ofEpochDay(epochDay);
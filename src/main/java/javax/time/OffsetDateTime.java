@@ -169,7 +169,7 @@ public final class OffsetDateTime
     public static OffsetDateTime now(Clock clock) {
         Objects.requireNonNull(clock, "clock");
         final Instant now = clock.instant();  // called once
-        return ofInstant(now, clock.getZone().getRules().getOffset(now));
+        return ofInstant(now, clock.getZone().getRules().getOffset(now.getEpochSecond()));
     }
 
     //-----------------------------------------------------------------------
@@ -383,7 +383,7 @@ public final class OffsetDateTime
         Objects.requireNonNull(instant, "instant");
         Objects.requireNonNull(zone, "zone");
         ZoneRules rules = zone.getRules();
-        ZoneOffset offset = rules.getOffset(instant);
+        ZoneOffset offset = rules.getOffset(instant.getEpochSecond());
         LocalDateTime ldt = LocalDateTime.ofEpochSecond(instant.getEpochSecond(), instant.getNano(), offset);
         return new OffsetDateTime(ldt, offset);
     }
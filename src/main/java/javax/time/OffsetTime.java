@@ -139,7 +139,7 @@ public final class OffsetTime
     public static OffsetTime now(Clock clock) {
         Objects.requireNonNull(clock, "clock");
         final Instant now = clock.instant();  // called once
-        return ofInstant(now, clock.getZone().getRules().getOffset(now));
+        return ofInstant(now, clock.getZone().getRules().getOffset(now.getEpochSecond()));
     }
 
     //-----------------------------------------------------------------------
@@ -224,7 +224,7 @@ public final class OffsetTime
         Objects.requireNonNull(instant, "instant");
         Objects.requireNonNull(zone, "zone");
         ZoneRules rules = zone.getRules();
-        ZoneOffset offset = rules.getOffset(instant);
+        ZoneOffset offset = rules.getOffset(instant.getEpochSecond());
         long secsOfDay = instant.getEpochSecond() % SECONDS_PER_DAY;
         secsOfDay = (secsOfDay + offset.getTotalSeconds()) % SECONDS_PER_DAY;
         if (secsOfDay < 0) {
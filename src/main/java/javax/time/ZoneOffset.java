@@ -37,7 +37,9 @@ import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
@@ -49,6 +51,8 @@ import javax.time.calendrical.DateTime.WithAdjuster;
 import javax.time.calendrical.DateTimeAccessor;
 import javax.time.calendrical.DateTimeField;
 import javax.time.calendrical.DateTimeValueRange;
+import javax.time.jdk8.Jdk8Methods;
+import javax.time.zone.ZoneOffsetCursor;
 import javax.time.zone.ZoneOffsetTransition;
 import javax.time.zone.ZoneOffsetTransitionRule;
 import javax.time.zone.ZoneRules;
@@ -639,6 +643,11 @@ public final class ZoneOffset
             return offset;
         }
 
+        @Override
+        public ZoneOffset getOffset(long epochSecond) {
+            return offset;
+        }
+
         @Override
         public ZoneOffset getOffset(LocalDateTime localDateTime) {
             return offset;
@@ -649,6 +658,11 @@ public final class ZoneOffset
             return Collections.singletonList(offset);
         }
 
+        @Override
+        public ZoneOffset getValidOffset(LocalDateTime localDateTime) {
+            return offset;
+        }
+
         @Override
         public ZoneOffsetTransition getTransition(LocalDateTime localDateTime) {
             return null;
@@ -665,6 +679,11 @@ public final class ZoneOffset
             return offset;
         }
 
+        @Override
+        public ZoneOffset getStandardOffset(long epochSecond) {
+            return offset;
+        }
+
         @Override
         public Duration getDaylightSavings(Instant instant) {
             return Duration.ZERO;
@@ -686,6 +705,28 @@ public final class ZoneOffset
             return null;
         }
 
+        @Override
+        public void getOffsets(long[] epochSeconds, int fromIndex, int toIndex, int[] offsetSecondsOut) {
+            Jdk8Methods.checkBulkRange(epochSeconds.length, fromIndex, toIndex, offsetSecondsOut.length);
+            Arrays.fill(offsetSecondsOut, fromIndex, toIndex, offset.getTotalSeconds());
+        }
+
+        @Override
+        public void getLocalOffsets(long[] localEpochSeconds, int fromIndex, int toIndex, int[] offsetSecondsOut) {
+            Jdk8Methods.checkBulkRange(localEpochSeconds.length, fromIndex, toIndex, offsetSecondsOut.length);
+            Arrays.fill(offsetSecondsOut, fromIndex, toIndex, offset.getTotalSeconds());
+        }
+
+        @Override
+        public Iterator<ZoneOffsetTransition> transitions(Instant from, Instant to) {
+            return Collections.emptyIterator();
+        }
+
+        @Override
+        public ZoneOffsetCursor offsetCursor() {
+            return ZoneOffsetCursor.of(this);
+        }
+
         @Override
         public List<ZoneOffsetTransition> getTransitions() {
             return Collections.emptyList();
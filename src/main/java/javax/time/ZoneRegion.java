@@ -36,6 +36,8 @@ import java.io.DataOutput;
 import java.io.IOException;
 import java.io.Serializable;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.regex.Pattern;
 
 import javax.time.zone.ZoneRules;
@@ -70,13 +72,19 @@ final class ZoneRegion extends ZoneId implements Serializable {
      * The regex pattern for region IDs.
      */
     private static final Pattern PATTERN = Pattern.compile("[A-Za-z][A-Za-z0-9~/._+-]+");
+    /**
+     * The cache of regions known to a provider, keyed by ID.
+     * The instances are canonical, with the rules bound where they may be cached.
+     * Unknown IDs are not cached, as they may be found once a provider is registered.
+     */
+    private static final ConcurrentMap<String, ZoneRegion> CACHE = new ConcurrentHashMap<>();
 
     /**
      * The time-zone ID, not null.
      */
     private final String id;
     /**
-     * The time-zone rules, null if zone ID was loaded leniently.
+     * The time-zone rules, null if zone ID was loaded leniently or the rules are dynamic.
      */
     private final transient ZoneRules rules;
 
@@ -111,20 +119,28 @@ final class ZoneRegion extends ZoneId implements Serializable {
      */
     static ZoneRegion ofId(String zoneId, boolean checkAvailable) {
         Objects.requireNonNull(zoneId, "zoneId");
+        ZoneRegion cached = CACHE.get(zoneId);
+        if (cached != null) {
+            return cached;
+        }
         if (zoneId.length() < 2 || zoneId.startsWith("UTC") ||
                 zoneId.startsWith("GMT") || (PATTERN.matcher(zoneId).matches() == false)) {
             throw new DateTimeException("ZoneId format is not a valid region format");
         }
-        ZoneRules rules = null;
+        ZoneRules rules;
         try {
             // always attempt load for better behavior after deserialization
-            rules = ZoneRulesProvider.getRules(zoneId);
+            rules = ZoneRulesProvider.getCacheableRules(zoneId);
         } catch (ZoneRulesException ex) {
             if (checkAvailable) {
                 throw ex;
             }
+            return new ZoneRegion(zoneId, null);
         }
-        return new ZoneRegion(zoneId, rules);
+        // the ID is known, rules are null if dynamic and looked up on each use
+        ZoneRegion region = new ZoneRegion(zoneId, rules);
+        cached = CACHE.putIfAbsent(zoneId, region);
+        return (cached != null ? cached : region);
     }
 
     //-------------------------------------------------------------------------
@@ -38,7 +38,6 @@ import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
 import java.io.Serializable;
-import java.util.List;
 import java.util.Objects;
 
 import javax.time.calendrical.ChronoField;
@@ -235,19 +234,16 @@ public final class ZonedDateTime
             return new ZonedDateTime(localDateTime, (ZoneOffset) zone, zone);
         }
         ZoneRules rules = zone.getRules();
-        List<ZoneOffset> validOffsets = rules.getValidOffsets(localDateTime);
-        ZoneOffset offset;
-        if (validOffsets.size() == 1) {
-            offset = validOffsets.get(0);
-        } else if (validOffsets.size() == 0) {
+        ZoneOffset offset = rules.getValidOffset(localDateTime);
+        if (offset == null) {
             ZoneOffsetTransition trans = rules.getTransition(localDateTime);
-            localDateTime = localDateTime.plusSeconds(trans.getDuration().getSeconds());
-            offset = trans.getOffsetAfter();
-        } else {
-            if (preferredOffset != null && validOffsets.contains(preferredOffset)) {
+            if (trans.isGap()) {
+                localDateTime = localDateTime.plusSeconds(trans.getDuration().getSeconds());
+                offset = trans.getOffsetAfter();
+            } else if (preferredOffset != null && trans.isValidOffset(preferredOffset)) {
                 offset = preferredOffset;
             } else {
-                offset = Objects.requireNonNull(validOffsets.get(0), "offset");  // protect against bad ZoneRules
+                offset = Objects.requireNonNull(trans.getOffsetBefore(), "offset");  // protect against bad ZoneRules
             }
         }
         return new ZonedDateTime(localDateTime, offset, zone);
@@ -313,8 +309,7 @@ public final class ZonedDateTime
      */
     private static ZonedDateTime create(long epochSecond, int nanoOfSecond, ZoneId zone) {
         ZoneRules rules = zone.getRules();
-        Instant instant = Instant.ofEpochSecond(epochSecond, nanoOfSecond);  // TODO: rules should be queryable by epochSeconds
-        ZoneOffset offset = rules.getOffset(instant);
+        ZoneOffset offset = rules.getOffset(epochSecond);
         LocalDateTime ldt = LocalDateTime.ofEpochSecond(epochSecond, nanoOfSecond, offset);
         return new ZonedDateTime(ldt, offset, zone);
     }
@@ -77,9 +77,18 @@ import javax.time.DateTimeException;
 import javax.time.DayOfWeek;
 import javax.time.Instant;
 import javax.time.LocalDate;
+import javax.time.LocalDateTime;
 import javax.time.LocalTime;
+import javax.time.Month;
+import javax.time.MonthDay;
+import javax.time.OffsetDate;
+import javax.time.OffsetDateTime;
+import javax.time.OffsetTime;
+import javax.time.Year;
+import javax.time.YearMonth;
 import javax.time.ZoneId;
 import javax.time.ZoneOffset;
+import javax.time.ZonedDateTime;
 import javax.time.chrono.Chrono;
 import javax.time.jdk8.DefaultInterfaceDateTimeAccessor;
 import javax.time.jdk8.Jdk8Methods;
@@ -104,6 +113,120 @@ public final class DateTimeBuilder
         extends DefaultInterfaceDateTimeAccessor
         implements DateTimeAccessor, Cloneable {
 
+    /**
+     * The factories of the standard types, keyed by the type built.
+     * These avoid the cost of reflection when building the common types.
+     */
+    private static final Map<Class<?>, Query<?>> FACTORIES = new HashMap<>();
+    static {
+        FACTORIES.put(DayOfWeek.class, new Query<DayOfWeek>() {
+            @Override
+            public DayOfWeek doQuery(DateTimeAccessor dateTime) {
+                return DayOfWeek.from(dateTime);
+            }
+        });
+        FACTORIES.put(Instant.class, new Query<Instant>() {
+            @Override
+            public Instant doQuery(DateTimeAccessor dateTime) {
+                return Instant.from(dateTime);
+            }
+        });
+        FACTORIES.put(LocalDate.class, new Query<LocalDate>() {
+            @Override
+            public LocalDate doQuery(DateTimeAccessor dateTime) {
+                return LocalDate.from(dateTime);
+            }
+        });
+        FACTORIES.put(LocalDateTime.class, new Query<LocalDateTime>() {
+            @Override
+            public LocalDateTime doQuery(DateTimeAccessor dateTime) {
+                return LocalDateTime.from(dateTime);
+            }
+        });
+        FACTORIES.put(LocalTime.class, new Query<LocalTime>() {
+            @Override
+            public LocalTime doQuery(DateTimeAccessor dateTime) {
+                return LocalTime.from(dateTime);
+            }
+        });
+        FACTORIES.put(Month.class, new Query<Month>() {
+            @Override
+            public Month doQuery(DateTimeAccessor dateTime) {
+                return Month.from(dateTime);
+            }
+        });
+        FACTORIES.put(MonthDay.class, new Query<MonthDay>() {
+            @Override
+            public MonthDay doQuery(DateTimeAccessor dateTime) {
+                return MonthDay.from(dateTime);
+            }
+        });
+        FACTORIES.put(OffsetDate.class, new Query<OffsetDate>() {
+            @Override
+            public OffsetDate doQuery(DateTimeAccessor dateTime) {
+                return OffsetDate.from(dateTime);
+            }
+        });
+        FACTORIES.put(OffsetDateTime.class, new Query<OffsetDateTime>() {
+            @Override
+            public OffsetDateTime doQuery(DateTimeAccessor dateTime) {
+                return OffsetDateTime.from(dateTime);
+            }
+        });
+        FACTORIES.put(OffsetTime.class, new Query<OffsetTime>() {
+            @Override
+            public OffsetTime doQuery(DateTimeAccessor dateTime) {
+                return OffsetTime.from(dateTime);
+            }
+        });
+        FACTORIES.put(Year.class, new Query<Year>() {
+            @Override
+            public Year doQuery(DateTimeAccessor dateTime) {
+                return Year.from(dateTime);
+            }
+        });
+        FACTORIES.put(YearMonth.class, new Query<YearMonth>() {
+            @Override
+            public YearMonth doQuery(DateTimeAccessor dateTime) {
+                return YearMonth.from(dateTime);
+            }
+        });
+        FACTORIES.put(ZoneId.class, new Query<ZoneId>() {
+            @Override
+            public ZoneId doQuery(DateTimeAccessor dateTime) {
+                return ZoneId.from(dateTime);
+            }
+        });
+        FACTORIES.put(ZoneOffset.class, new Query<ZoneOffset>() {
+            @Override
+            public ZoneOffset doQuery(DateTimeAccessor dateTime) {
+                return ZoneOffset.from(dateTime);
+            }
+        });
+        FACTORIES.put(ZonedDateTime.class, new Query<ZonedDateTime>() {
+            @Override
+            public ZonedDateTime doQuery(DateTimeAccessor dateTime) {
+                return ZonedDateTime.from(dateTime);
+            }
+        });
+        FACTORIES.put(Chrono.class, new Query<Chrono<?>>() {
+            @Override
+            public Chrono<?> doQuery(DateTimeAccessor dateTime) {
+                return Chrono.from(dateTime);
+            }
+        });
+    }
+    /**
+     * The factories of other types, invoking their {@code from} method by reflection.
+     * The method is looked up once per type, and the cache does not prevent class unloading.
+     */
+    private static final ClassValue<Query<?>> REFLECTIVE_FACTORIES = new ClassValue<Query<?>>() {
+        @Override
+        protected Query<?> computeValue(Class<?> type) {
+            return reflectiveFactory(type);
+        }
+    };
+
     /**
      * The map of other fields.
      */
@@ -646,31 +769,47 @@ public final class DateTimeBuilder
      * @throws DateTimeException if an error occurs
      */
     public <R> R build(Class<R> type) {
-        return invokeFrom(type, this);
+        Query<?> factory = FACTORIES.get(type);
+        if (factory == null) {
+            factory = REFLECTIVE_FACTORIES.get(type);
+        }
+        return type.cast(factory.doQuery(this));
     }
 
     /**
-     * Invokes the {@code from(DateTime)} method of a class.
+     * Creates a factory that invokes the {@code from(DateTimeAccessor)} method of a class.
      * <p>
-     * This calls the {@code from} method with the specified date-time object.
-     * The from method will extract an object of the specified type if it can,
+     * The from method will extract an object of the specified type if it can.
+     * If the class has no such method, the factory throws an exception when used.
      *
-     * @param <R>  the type to return
      * @param type  the type to invoke {@code from} on, not null
-     * @param dateTime  the date-time to pass as the argument, not null
-     * @return the value returned from the {@code from} method, not null
-     * @throws DateTimeException if an error occurs
+     * @return the factory, not null
      */
-    private static <R> R invokeFrom(Class<R> type, DateTimeAccessor dateTime) {
+    private static Query<?> reflectiveFactory(Class<?> type) {
+        final Method method;
         try {
-            Method m = type.getDeclaredMethod("from", DateTimeAccessor.class);
-            return type.cast(m.invoke(null, dateTime));
-        } catch (ReflectiveOperationException ex) {
-            if (ex.getCause() instanceof DateTimeException == false) {
-                throw new DateTimeException("Unable to invoke method from(DateTime)", ex);
+            method = type.getDeclaredMethod("from", DateTimeAccessor.class);
+        } catch (final NoSuchMethodException ex) {
+            return new Query<Object>() {
+                @Override
+                public Object doQuery(DateTimeAccessor dateTime) {
+                    throw new DateTimeException("Unable to invoke method from(DateTime)", ex);
+                }
+            };
+        }
+        return new Query<Object>() {
+            @Override
+            public Object doQuery(DateTimeAccessor dateTime) {
+                try {
+                    return method.invoke(null, dateTime);
+                } catch (ReflectiveOperationException ex) {
+                    if (ex.getCause() instanceof DateTimeException == false) {
+                        throw new DateTimeException("Unable to invoke method from(DateTime)", ex);
+                    }
+                    throw (DateTimeException) ex.getCause();
+                }
             }
-            throw (DateTimeException) ex.getCause();
-        }
+        };
     }
 
     //-----------------------------------------------------------------------
@@ -503,7 +503,7 @@ public abstract class Chrono<C extends Chrono<C>> implements Comparable<Chrono<?
      */
     ChronoDateTimeImpl<C> localInstant(Instant instant, ZoneId zoneId) {
         ZoneRules rules = zoneId.getRules();
-        ZoneOffset offset = rules.getOffset(instant);
+        ZoneOffset offset = rules.getOffset(instant.getEpochSecond());
         LocalDateTime ldt = LocalDateTime.ofEpochSecond(instant.getEpochSecond(), instant.getNano(), offset);
         return ChronoDateTimeImpl.of(dateNow(), LocalTime.MIDNIGHT).with(ldt);  // not very efficient...
     }
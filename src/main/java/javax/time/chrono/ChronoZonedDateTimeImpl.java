@@ -37,7 +37,6 @@ import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
 import java.io.Serializable;
-import java.util.List;
 import java.util.Objects;
 
 import javax.time.DateTimeException;
@@ -111,19 +110,16 @@ final class ChronoZonedDateTimeImpl<C extends Chrono<C>>
         }
         ZoneRules rules = zoneId.getRules();
         LocalDateTime isoLDT = LocalDateTime.from(localDateTime);
-        List<ZoneOffset> validOffsets = rules.getValidOffsets(isoLDT);
-        ZoneOffset offset;
-        if (validOffsets.size() == 1) {
-            offset = validOffsets.get(0);
-        } else if (validOffsets.size() == 0) {
+        ZoneOffset offset = rules.getValidOffset(isoLDT);
+        if (offset == null) {
             ZoneOffsetTransition trans = rules.getTransition(isoLDT);
-            localDateTime = localDateTime.plusSeconds(trans.getDuration().getSeconds());
-            offset = trans.getOffsetAfter();
-        } else {
-            if (preferredOffset != null && validOffsets.contains(preferredOffset)) {
+            if (trans.isGap()) {
+                localDateTime = localDateTime.plusSeconds(trans.getDuration().getSeconds());
+                offset = trans.getOffsetAfter();
+            } else if (preferredOffset != null && trans.isValidOffset(preferredOffset)) {
                 offset = preferredOffset;
             } else {
-                offset = validOffsets.get(0);
+                offset = trans.getOffsetBefore();
             }
         }
         Objects.requireNonNull(offset, "offset");  // protect against bad ZoneRules
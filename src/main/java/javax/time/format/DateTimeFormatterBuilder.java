@@ -40,8 +40,8 @@ import java.math.BigInteger;
 import java.math.RoundingMode;
 import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
@@ -50,13 +50,12 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
-import java.util.Set;
 
 import javax.time.DateTimeException;
-import javax.time.Instant;
+import javax.time.LocalDate;
+import javax.time.Month;
 import javax.time.ZoneId;
 import javax.time.ZoneOffset;
-import javax.time.ZonedDateTime;
 import javax.time.calendrical.ChronoField;
 import javax.time.calendrical.DateTimeAccessor.Query;
 import javax.time.calendrical.DateTimeBuilder;
@@ -65,7 +64,9 @@ import javax.time.calendrical.DateTimeValueRange;
 import javax.time.chrono.Chrono;
 import javax.time.chrono.ISOChrono;
 import javax.time.format.SimpleDateTimeTextProvider.LocaleStore;
+import javax.time.format.SimpleDateTimeTextProvider.TextTrie;
 import javax.time.jdk8.Jdk8Methods;
+import javax.time.zone.ZoneIdSnapshot;
 import javax.time.zone.ZoneRulesProvider;
 
 /**
@@ -537,6 +538,10 @@ public final class DateTimeFormatterBuilder {
                 return store.getTextIterator(style);
             }
             @Override
+            LocaleStore getLocaleStore(DateTimeField field, Locale locale) {
+                return store;
+            }
+            @Override
             public Locale[] getAvailableLocales() {
                 throw new UnsupportedOperationException();
             }
@@ -1679,6 +1684,16 @@ public final class DateTimeFormatterBuilder {
             100000000,
             1000000000,
         };
+        /**
+         * Array of 10 to the power of n, for all n that fit in a long.
+         */
+        private static final long[] POWERS_OF_TEN = new long[19];
+        static {
+            POWERS_OF_TEN[0] = 1;
+            for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+                POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+            }
+        }
 
         final DateTimeField field;
         final int minWidth;
@@ -1733,19 +1748,22 @@ public final class DateTimeFormatterBuilder {
 
         @Override
         public boolean print(DateTimePrintContext context, StringBuilder buf) {
-            Long valueLong = context.getValue(field);
-            if (valueLong == null) {
+            if (context.readValue(field) == false) {
                 return false;
             }
-            long value = getValue(valueLong);
+            long value = getValue(context.getReadValue());
             DateTimeFormatSymbols symbols = context.getSymbols();
-            String str = (value == Long.MIN_VALUE ? "9223372036854775808" : Long.toString(Math.abs(value)));
-            if (str.length() > maxWidth) {
+            // digits are extracted from the negated value, as Long.MIN_VALUE cannot be negated
+            long negated = (value > 0 ? -value : value);
+            int digits = 1;
+            while (digits < POWERS_OF_TEN.length && negated <= -POWERS_OF_TEN[digits]) {
+                digits++;
+            }
+            if (digits > maxWidth) {
                 throw new DateTimePrintException("Field " + field.getName() +
                     " cannot be printed as the value " + value +
                     " exceeds the maximum print width of " + maxWidth);
             }
-            str = symbols.convertNumberToI18N(str);
 
             if (value >= 0) {
                 switch (signStyle) {
@@ -1771,10 +1789,25 @@ public final class DateTimeFormatterBuilder {
                             " cannot be negative according to the SignStyle");
                 }
             }
-            for (int i = 0; i < minWidth - str.length(); i++) {
-                buf.append(symbols.getZeroDigit());
+            char zeroDigit = symbols.getZeroDigit();
+            for (int i = 0; i < minWidth - digits; i++) {
+                buf.append(zeroDigit);
+            }
+            // write the digits from the right, translating each to the localized zero
+            int start = buf.length();
+            buf.setLength(start + digits);
+            if (negated >= Integer.MIN_VALUE) {
+                int negatedInt = (int) negated;  // int division is much faster
+                for (int i = start + digits - 1; i >= start; i--) {
+                    buf.setCharAt(i, (char) (zeroDigit - (negatedInt % 10)));
+                    negatedInt /= 10;
+                }
+            } else {
+                for (int i = start + digits - 1; i >= start; i--) {
+                    buf.setCharAt(i, (char) (zeroDigit - (negated % 10)));
+                    negated /= 10;
+                }
             }
-            buf.append(str);
             return true;
         }
 
@@ -1990,10 +2023,23 @@ public final class DateTimeFormatterBuilder {
      * Prints and parses a numeric date-time field with optional padding.
      */
     static final class FractionPrinterParser implements DateTimePrinterParser {
+        /**
+         * The number of units in a fraction of nine decimal digits.
+         */
+        private static final long FRACTION_UNITS = 1000000000L;
         private final DateTimeField field;
         private final int minWidth;
         private final int maxWidth;
         private final boolean decimalPoint;
+        /**
+         * The number of values in the range of the field, or -1 if it does not fit in a long.
+         */
+        private final long rangeSize;
+        /**
+         * The number of fraction units per value if the range size divides
+         * {@link #FRACTION_UNITS}, such as for nano, micro and milli-of-second, otherwise zero.
+         */
+        private final long unitsPerValue;
 
         /**
          * Constructor.
@@ -2022,34 +2068,42 @@ public final class DateTimeFormatterBuilder {
             this.minWidth = minWidth;
             this.maxWidth = maxWidth;
             this.decimalPoint = decimalPoint;
+            long min = field.range().getMinimum();
+            long max = field.range().getMaximum();
+            long diff = max - min;
+            boolean overflow = ((max ^ min) & (max ^ diff)) < 0;
+            this.rangeSize = (overflow || diff == Long.MAX_VALUE ? -1 : diff + 1);
+            this.unitsPerValue = (rangeSize > 0 && FRACTION_UNITS % rangeSize == 0 ? FRACTION_UNITS / rangeSize : 0);
         }
 
         @Override
         public boolean print(DateTimePrintContext context, StringBuilder buf) {
-            Long value = context.getValue(field);
-            if (value == null) {
+            if (context.readValue(field) == false) {
                 return false;
             }
             DateTimeFormatSymbols symbols = context.getSymbols();
-            BigDecimal fraction = convertToFraction(value);
-            if (fraction.scale() == 0) {  // scale is zero if value is zero
-                if (minWidth > 0) {
-                    if (decimalPoint) {
-                        buf.append(symbols.getDecimalSeparator());
-                    }
-                    for (int i = 0; i < minWidth; i++) {
-                        buf.append(symbols.getZeroDigit());
-                    }
+            int fraction = convertToFraction(context.getReadValue());
+            int outputScale;
+            if (fraction == 0) {
+                if (minWidth == 0) {
+                    return true;
                 }
+                outputScale = minWidth;
             } else {
-                int outputScale = Math.min(Math.max(fraction.scale(), minWidth), maxWidth);
-                fraction = fraction.setScale(outputScale, RoundingMode.FLOOR);
-                String str = fraction.toPlainString().substring(2);
-                str = symbols.convertNumberToI18N(str);
-                if (decimalPoint) {
-                    buf.append(symbols.getDecimalSeparator());
+                int scale = 9;
+                for (int trimmed = fraction; trimmed % 10 == 0; trimmed /= 10) {
+                    scale--;
                 }
-                buf.append(str);
+                outputScale = Math.min(Math.max(scale, minWidth), maxWidth);
+            }
+            if (decimalPoint) {
+                buf.append(symbols.getDecimalSeparator());
+            }
+            char zeroDigit = symbols.getZeroDigit();
+            int divisor = 100000000;
+            for (int i = 0; i < outputScale; i++) {
+                buf.append((char) (zeroDigit + (fraction / divisor) % 10));
+                divisor /= 10;
             }
             return true;
         }
@@ -2089,8 +2143,7 @@ public final class DateTimeFormatterBuilder {
                 }
                 total = total * 10 + digit;
             }
-            BigDecimal fraction = new BigDecimal(total).movePointLeft(pos - position);
-            long value = convertFromFraction(fraction);
+            long value = convertFromFraction(total, pos - position);
             context.setParsedField(field, value);
             return pos;
         }
@@ -2099,36 +2152,51 @@ public final class DateTimeFormatterBuilder {
          * Converts a value for this field to a fraction between 0 and 1.
          * <p>
          * The fractional value is between 0 (inclusive) and 1 (exclusive).
+         * It is returned as the nine decimal digits of the fraction, from 0 to 999,999,999.
          * It can only be returned if the {@link DateTimeField#range() value range} is fixed.
          * The fraction is obtained by calculation from the field range using 9 decimal
          * places and a rounding mode of {@link RoundingMode#FLOOR FLOOR}.
          * The calculation is inaccurate if the values do not run continuously from smallest to largest.
          * <p>
-         * For example, the second-of-minute value of 15 would be returned as 0.25,
-         * assuming the standard definition of 60 seconds in a minute.
+         * For example, the second-of-minute value of 15 would be returned as 250,000,000,
+         * representing 0.25, assuming the standard definition of 60 seconds in a minute.
          *
          * @param value  the value to convert, must be valid for this rule
-         * @return the value as a fraction within the range, from 0 to 1, not null
+         * @return the value as a fraction within the range, in units of 10^-9
          * @throws DateTimeException if the value cannot be converted to a fraction
          */
-        private BigDecimal convertToFraction(long value) {
+        private int convertToFraction(long value) {
             DateTimeValueRange range = field.range();
-            if (range.isFixed() == false) {
-                throw new DateTimeException("Unable to obtain fraction as field range is not fixed: " + field.getName());
-            }
             range.checkValidValue(value, field);
+            if (unitsPerValue > 0) {
+                return (int) ((value - range.getMinimum()) * unitsPerValue);
+            }
+            if (rangeSize > 0 && rangeSize <= Long.MAX_VALUE / FRACTION_UNITS) {
+                return (int) ((value - range.getMinimum()) * FRACTION_UNITS / rangeSize);
+            }
+            if (rangeSize > 0 && rangeSize <= Long.MAX_VALUE / 10) {
+                // long division, one decimal digit at a time
+                long remainder = value - range.getMinimum();
+                int fraction = 0;
+                for (int i = 0; i < 9; i++) {
+                    remainder *= 10;
+                    fraction = fraction * 10 + (int) (remainder / rangeSize);
+                    remainder %= rangeSize;
+                }
+                return fraction;
+            }
+            // very large ranges
             BigDecimal minBD = BigDecimal.valueOf(range.getMinimum());
             BigDecimal rangeBD = BigDecimal.valueOf(range.getMaximum()).subtract(minBD).add(BigDecimal.ONE);
-            BigDecimal valueBD = BigDecimal.valueOf(value).subtract(minBD);
-            BigDecimal fraction = valueBD.divide(rangeBD, 9, RoundingMode.FLOOR);
-            // stripTrailingZeros bug
-            return fraction.compareTo(BigDecimal.ZERO) == 0 ? BigDecimal.ZERO : fraction.stripTrailingZeros();
+            BigDecimal valueBD = BigDecimal.valueOf(value).subtract(minBD).movePointRight(9);
+            return valueBD.divide(rangeBD, 0, RoundingMode.FLOOR).intValue();
         }
 
         /**
          * Converts a fraction from 0 to 1 for this field to a value.
          * <p>
          * The fractional value must be between 0 (inclusive) and 1 (exclusive).
+         * It is passed as its parsed decimal digits, such that 0.25 is 25 with two digits.
          * It can only be returned if the {@link DateTimeField#range() value range} is fixed.
          * The value is obtained by calculation from the field range and a rounding
          * mode of {@link RoundingMode#FLOOR FLOOR}.
@@ -2137,19 +2205,32 @@ public final class DateTimeFormatterBuilder {
          * For example, the fractional second-of-minute of 0.25 would be converted to 15,
          * assuming the standard definition of 60 seconds in a minute.
          *
-         * @param fraction  the fraction to convert, not null
+         * @param digits  the decimal digits of the fraction to convert, from 0 to 999,999,999
+         * @param digitCount  the number of decimal digits, from 0 to 9
          * @return the value of the field, valid for this rule
          * @throws DateTimeException if the value cannot be converted
          */
-        private long convertFromFraction(BigDecimal fraction) {
+        private long convertFromFraction(int digits, int digitCount) {
             DateTimeValueRange range = field.range();
-            if (range.isFixed() == false) {
-                throw new DateTimeException("Unable to obtain fraction as field range is not fixed: " + field.getName());
+            long fraction = digits;
+            for (int i = digitCount; i < 9; i++) {
+                fraction *= 10;
+            }
+            long value;
+            if (unitsPerValue > 0) {
+                value = range.getMinimum() + fraction / unitsPerValue;
+            } else if (rangeSize > 0) {
+                // split the range size to avoid overflow
+                long high = rangeSize / FRACTION_UNITS;
+                long low = rangeSize % FRACTION_UNITS;
+                value = range.getMinimum() + high * fraction + low * fraction / FRACTION_UNITS;
+            } else {
+                // very large ranges
+                BigDecimal minBD = BigDecimal.valueOf(range.getMinimum());
+                BigDecimal rangeBD = BigDecimal.valueOf(range.getMaximum()).subtract(minBD).add(BigDecimal.ONE);
+                BigDecimal valueBD = BigDecimal.valueOf(fraction, 9).multiply(rangeBD).setScale(0, RoundingMode.FLOOR).add(minBD);
+                value = valueBD.longValueExact();
             }
-            BigDecimal minBD = BigDecimal.valueOf(range.getMinimum());
-            BigDecimal rangeBD = BigDecimal.valueOf(range.getMaximum()).subtract(minBD).add(BigDecimal.ONE);
-            BigDecimal valueBD = fraction.multiply(rangeBD).setScale(0, RoundingMode.FLOOR).add(minBD);
-            long value = valueBD.longValueExact();
             range.checkValidValue(value, field);
             return value;
         }
@@ -2174,6 +2255,11 @@ public final class DateTimeFormatterBuilder {
          * Immutable and volatile, so no synchronization needed.
          */
         private volatile NumberPrinterParser numberPrinterParser;
+        /**
+         * The cached locale store, for the locale last parsed.
+         * Immutable and volatile, so no synchronization needed.
+         */
+        private volatile Entry<Locale, LocaleStore> cachedStore;
 
         /**
          * Constructor.
@@ -2210,6 +2296,18 @@ public final class DateTimeFormatterBuilder {
                 throw new IndexOutOfBoundsException();
             }
             TextStyle style = (context.isStrict() ? textStyle : null);
+            LocaleStore store = localeStore(context.getLocale());
+            if (store != null) {
+                boolean caseSensitive = context.isCaseSensitive();
+                TextTrie trie = store.getTrie(style, caseSensitive);
+                if (trie != null) {
+                    int pos = trie.parse(context, field, parseText, position, caseSensitive == false);
+                    if (pos >= 0 || context.isStrict()) {
+                        return pos;
+                    }
+                }
+                return numberPrinterParser().parse(context, parseText, position);
+            }
             Iterator<Entry<String, Long>> it = provider.getTextIterator(field, style, context.getLocale());
             if (it != null) {
                 while (it.hasNext()) {
@@ -2227,6 +2325,21 @@ public final class DateTimeFormatterBuilder {
             return numberPrinterParser().parse(context, parseText, position);
         }
 
+        /**
+         * Finds and caches the locale store of the provider.
+         *
+         * @param locale  the locale, not null
+         * @return the locale store, null if the provider only supports the text iterator
+         */
+        private LocaleStore localeStore(Locale locale) {
+            Entry<Locale, LocaleStore> cached = cachedStore;
+            if (cached == null || cached.getKey().equals(locale) == false) {
+                cached = new SimpleImmutableEntry<>(locale, provider.getLocaleStore(field, locale));
+                cachedStore = cached;
+            }
+            return cached.getValue();
+        }
+
         /**
          * Create and cache a number printer parser.
          * @return the number printer parser for this field, not null
@@ -2250,29 +2363,270 @@ public final class DateTimeFormatterBuilder {
     //-----------------------------------------------------------------------
     /**
      * Prints or parses an ISO-8601 instant.
+     * <p>
+     * The instant is handled directly from the instant-seconds and nano-of-second fields,
+     * allowing the full range of {@code Instant} to be printed and parsed.
+     * Years outside the range 0000 to 9999 are printed as per {@link LocalDate#toString()},
+     * with a sign and as many digits as necessary.
      */
     static final class InstantPrinterParser implements DateTimePrinterParser {
+        // days in a 400 year cycle = 146097
+        private static final int DAYS_PER_CYCLE = 146097;
+        // days from 0000 to 1970, as per LocalDate
+        private static final long DAYS_0000_TO_1970 = (DAYS_PER_CYCLE * 5L) - (30L * 365L + 7L);
+        private static final int SECONDS_PER_DAY = 86400;
+        // the maximum number of year digits, enough for the range of Instant
+        private static final int MAX_YEAR_DIGITS = 12;
 
         InstantPrinterParser() {
         }
 
         @Override
         public boolean print(DateTimePrintContext context, StringBuilder buf) {
-            // TODO: implement this from INSTANT_SECONDS, handling big numbers
-            Instant instant = Instant.from(context.getDateTime());
-            ZonedDateTime odt = ZonedDateTime.ofInstant(instant, ZoneOffset.UTC);
-            buf.append(odt);
+            if (context.readValue(INSTANT_SECONDS) == false) {
+                return false;
+            }
+            long epochSecond = context.getReadValue();
+            if (context.readValue(NANO_OF_SECOND) == false) {
+                return false;
+            }
+            int nano = NANO_OF_SECOND.checkValidIntValue(context.getReadValue());
+            long epochDay = Jdk8Methods.floorDiv(epochSecond, SECONDS_PER_DAY);
+            int secsOfDay = Jdk8Methods.floorMod(epochSecond, SECONDS_PER_DAY);
+
+            // as per LocalDate.ofEpochDay(), but without the limit on the year
+            long zeroDay = epochDay + DAYS_0000_TO_1970;
+            zeroDay -= 60;  // adjust to 0000-03-01 so leap day is at end of four year cycle
+            long adjust = 0;
+            if (zeroDay < 0) {
+                // adjust negative years to positive for calculation
+                long adjustCycles = (zeroDay + 1) / DAYS_PER_CYCLE - 1;
+                adjust = adjustCycles * 400;
+                zeroDay += -adjustCycles * DAYS_PER_CYCLE;
+            }
+            long yearEst = (400 * zeroDay + 591) / DAYS_PER_CYCLE;
+            long doyEst = zeroDay - (365 * yearEst + yearEst / 4 - yearEst / 100 + yearEst / 400);
+            if (doyEst < 0) {
+                // fix estimate
+                yearEst--;
+                doyEst = zeroDay - (365 * yearEst + yearEst / 4 - yearEst / 100 + yearEst / 400);
+            }
+            yearEst += adjust;  // reset any negative year
+            int marchDoy0 = (int) doyEst;
+            int marchMonth0 = (marchDoy0 * 5 + 2) / 153;
+            int month = (marchMonth0 + 2) % 12 + 1;
+            int dom = marchDoy0 - (marchMonth0 * 306 + 5) / 10 + 1;
+            long year = yearEst + marchMonth0 / 10;
+
+            // as per ZonedDateTime.toString() in UTC
+            if (Math.abs(year) < 1000) {
+                if (year < 0) {
+                    buf.append('-');
+                }
+                appendDigits(buf, (int) Math.abs(year), 4);
+            } else {
+                if (year > 9999) {
+                    buf.append('+');
+                }
+                buf.append(year);
+            }
+            buf.append('-');
+            appendDigits(buf, month, 2);
+            buf.append('-');
+            appendDigits(buf, dom, 2);
+            buf.append('T');
+            appendDigits(buf, secsOfDay / 3600, 2);
+            buf.append(':');
+            appendDigits(buf, (secsOfDay / 60) % 60, 2);
+            int second = secsOfDay % 60;
+            if (second > 0 || nano > 0) {
+                buf.append(':');
+                appendDigits(buf, second, 2);
+                if (nano > 0) {
+                    buf.append('.');
+                    if (nano % 1000_000 == 0) {
+                        appendDigits(buf, nano / 1000_000, 3);
+                    } else if (nano % 1000 == 0) {
+                        appendDigits(buf, nano / 1000, 6);
+                    } else {
+                        appendDigits(buf, nano, 9);
+                    }
+                }
+            }
+            buf.append('Z');
             return true;
         }
 
+        /**
+         * Appends a non-negative value zero-padded to the specified number of digits.
+         *
+         * @param buf  the buffer to append to, not null
+         * @param value  the value to append, not negative and with no more than the digits
+         * @param digits  the number of digits to append
+         */
+        private static void appendDigits(StringBuilder buf, int value, int digits) {
+            int start = buf.length();
+            buf.setLength(start + digits);
+            for (int i = start + digits - 1; i >= start; i--) {
+                buf.setCharAt(i, (char) ('0' + value % 10));
+                value /= 10;
+            }
+        }
+
         @Override
         public int parse(DateTimeParseContext context, CharSequence text, int position) {
-            // TODO: implement this from INSTANT_SECONDS, handling big numbers
-            DateTimeFormatter f = DateTimeFormatters.isoOffsetDateTime();
-            ZonedDateTime odt = f.parse(text.subSequence(position, text.length()), ZonedDateTime.class);
-            context.setParsedField(INSTANT_SECONDS, odt.getLong(INSTANT_SECONDS));
-            context.setParsedField(NANO_OF_SECOND, odt.getLong(NANO_OF_SECOND));
-            return text.length();
+            // as per ISO_OFFSET_DATE_TIME, but without the limit on the year
+            int length = text.length();
+            int pos = position;
+            char sign = (pos < length ? text.charAt(pos) : 0);
+            if (sign == '+' || sign == '-') {
+                pos++;
+            }
+            int yearStart = pos;
+            long year = 0;
+            while (pos < length && pos - yearStart < MAX_YEAR_DIGITS) {
+                char ch = text.charAt(pos);
+                if (ch < '0' || ch > '9') {
+                    break;
+                }
+                year = year * 10 + (ch - '0');
+                pos++;
+            }
+            int yearDigits = pos - yearStart;
+            if (yearDigits < 4) {
+                return ~position;
+            }
+            if (sign == '-') {
+                if (year == 0) {
+                    return ~position;  // minus zero not allowed
+                }
+                year = -year;
+            } else if ((sign == '+') != (yearDigits > 4)) {
+                return ~position;  // '+' required if, and only if, the year exceeds four digits
+            }
+            int month = parseTwoDigits(text, pos, '-');
+            int dom = parseTwoDigits(text, pos + 3, '-');
+            int hour = parseTwoDigits(text, pos + 6, 'T');
+            int minute = parseTwoDigits(text, pos + 9, ':');
+            if (month < 1 || month > 12 || dom < 1 || hour < 0 || hour > 23 || minute < 0 || minute > 59) {
+                return ~position;
+            }
+            if (dom > 28 && dom > Month.of(month).length(ISOChrono.INSTANCE.isLeapYear(year))) {
+                return ~position;
+            }
+            pos += 12;
+            int second = parseTwoDigits(text, pos, ':');
+            int nano = 0;
+            if (second < 0) {
+                second = 0;
+            } else {
+                if (second > 59) {
+                    return ~position;
+                }
+                pos += 3;
+                if (pos < length && text.charAt(pos) == '.') {
+                    pos++;
+                    int fractionStart = pos;
+                    while (pos < length && pos - fractionStart < 9 && text.charAt(pos) >= '0' && text.charAt(pos) <= '9') {
+                        nano = nano * 10 + (text.charAt(pos) - '0');
+                        pos++;
+                    }
+                    for (int i = pos - fractionStart; i < 9; i++) {
+                        nano *= 10;
+                    }
+                }
+            }
+            int offsetSecs = 0;
+            char ch = (pos < length ? text.charAt(pos) : 0);
+            if (ch == 'Z' || ch == 'z') {
+                pos++;
+            } else if (ch == '+' || ch == '-') {
+                int offsetHours = parseTwoDigits(text, pos, ch);
+                int offsetMinutes = parseTwoDigits(text, pos + 3, ':');
+                if (offsetHours < 0 || offsetMinutes < 0 || offsetMinutes > 59) {
+                    return ~position;
+                }
+                pos += 6;
+                int offsetSeconds = parseTwoDigits(text, pos, ':');
+                if (offsetSeconds >= 0) {
+                    if (offsetSeconds > 59) {
+                        return ~position;
+                    }
+                    pos += 3;
+                } else {
+                    offsetSeconds = 0;
+                }
+                offsetSecs = offsetHours * 3600 + offsetMinutes * 60 + offsetSeconds;
+                if (offsetSecs > 18 * 3600) {
+                    return ~position;
+                }
+                offsetSecs = (ch == '-' ? -offsetSecs : offsetSecs);
+            } else {
+                return ~position;
+            }
+
+            // as per LocalDate.toEpochDay()
+            long total = 365 * year;
+            if (year >= 0) {
+                total += (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+            } else {
+                total -= year / -4 - year / -100 + year / -400;
+            }
+            total += ((367 * month - 362) / 12);
+            total += dom - 1;
+            if (month > 2) {
+                total--;
+                if (ISOChrono.INSTANCE.isLeapYear(year) == false) {
+                    total--;
+                }
+            }
+            long epochDay = total - DAYS_0000_TO_1970;
+            long secsOfDay = hour * 3600L + minute * 60L + second - offsetSecs;
+            // give the days and seconds the same sign, so that the multiplication
+            // can only overflow if the result is outside the range of Instant
+            while (epochDay < 0 && secsOfDay > 0) {
+                epochDay++;
+                secsOfDay -= SECONDS_PER_DAY;
+            }
+            while (epochDay > 0 && secsOfDay < 0) {
+                epochDay--;
+                secsOfDay += SECONDS_PER_DAY;
+            }
+            long epochSecond;
+            try {
+                epochSecond = Jdk8Methods.safeAdd(Jdk8Methods.safeMultiply(epochDay, SECONDS_PER_DAY), secsOfDay);
+            } catch (ArithmeticException ex) {
+                return ~position;  // outside the range of Instant
+            }
+            context.setParsedField(INSTANT_SECONDS, epochSecond);
+            context.setParsedField(NANO_OF_SECOND, nano);
+            return pos;
+        }
+
+        /**
+         * Parses a separator followed by a two digit zero-prefixed number.
+         * <p>
+         * The separator 'T' is matched ignoring case.
+         *
+         * @param text  the text to parse, not null
+         * @param pos  the position of the separator
+         * @param separator  the separator that must precede the digits
+         * @return the parsed number, negative if unable to parse
+         */
+        private static int parseTwoDigits(CharSequence text, int pos, char separator) {
+            if (pos + 3 > text.length()) {
+                return -1;
+            }
+            char sep = text.charAt(pos);
+            if (sep != separator && (separator != 'T' || sep != 't')) {
+                return -1;
+            }
+            char ch1 = text.charAt(pos + 1);
+            char ch2 = text.charAt(pos + 2);
+            if (ch1 < '0' || ch1 > '9' || ch2 < '0' || ch2 > '9') {
+                return -1;
+            }
+            return (ch1 - '0') * 10 + (ch2 - '0');
         }
 
         @Override
@@ -2487,32 +2841,29 @@ public final class DateTimeFormatterBuilder {
 
         //-----------------------------------------------------------------------
         /**
-         * The cached tree to speed up parsing.
+         * The cached trie to speed up parsing, keyed by the zone IDs it was built from.
          */
-        private static volatile Entry<Integer, SubstringTree> cachedSubstringTree;
+        private static volatile Entry<ZoneIdSnapshot, ZoneIdTrie> cachedTrie;
 
         /**
          * This implementation looks for the longest matching string.
          * For example, parsing Etc/GMT-2 will return Etc/GMC-2 rather than just
          * Etc/GMC although both are valid.
          * <p>
-         * This implementation uses a tree to search for valid time-zone names in
-         * the parseText. The top level node of the tree has a length equal to the
-         * length of the shortest time-zone as well as the beginning characters of
-         * all other time-zones.
+         * This implementation uses a trie of the available time-zone IDs to search
+         * the parseText, honoring the case sensitivity of the context.
+         * The matched ID is always returned in its registered case.
          */
         @Override
         public int parse(DateTimeParseContext context, CharSequence text, int position) {
-            // TODO case insensitive?
             int length = text.length();
             if (position > length) {
                 throw new IndexOutOfBoundsException();
             }
 
             // handle fixed time-zone IDs
-            String remainder = text.subSequence(position, text.length()).toString();
-            if (remainder.length() >= 1) {
-                char nextChar = remainder.charAt(0);
+            if (position < length) {
+                char nextChar = text.charAt(position);
                 if (nextChar == '+' || nextChar == '-') {
                     DateTimeParseContext newContext = new DateTimeParseContext(context.getLocale(), DateTimeFormatSymbols.STANDARD);
                     int endPos = new ZoneOffsetPrinterParser("Z", "+HH:MM:ss").parse(newContext, text, position);
@@ -2526,33 +2877,10 @@ public final class DateTimeFormatterBuilder {
                 }
             }
 
-            // prepare parse tree
-            Set<String> regionIds = ZoneRulesProvider.getAvailableZoneIds();
-            final int regionIdsSize = regionIds.size();
-            Entry<Integer, SubstringTree> cached = cachedSubstringTree;
-            if (cached == null || cached.getKey() != regionIdsSize) {
-                synchronized (this) {
-                    cached = cachedSubstringTree;
-                    if (cached == null || cached.getKey() != regionIdsSize) {
-                        cachedSubstringTree = cached = new SimpleImmutableEntry<>(regionIdsSize, prepareParser(regionIds));
-                    }
-                }
-            }
-            SubstringTree tree = cached.getValue();
-
             // parse
-            String parsedZoneId = null;
-            while (tree != null) {
-                int nodeLength = tree.length;
-                if (position + nodeLength > length) {
-                    break;
-                }
-                parsedZoneId = text.subSequence(position, position + nodeLength).toString();
-                tree = tree.get(parsedZoneId);
-            }
-
-            if (parsedZoneId == null || regionIds.contains(parsedZoneId) == false) {
-                if (remainder.startsWith("Z")) {
+            String parsedZoneId = findTrie().match(text, position, context.isCaseSensitive());
+            if (parsedZoneId == null) {
+                if (position < length && text.charAt(position) == 'Z') {
                     context.setParsed(ZoneOffset.UTC);
                     return position + 1;
                 }
@@ -2562,91 +2890,172 @@ public final class DateTimeFormatterBuilder {
             return position + parsedZoneId.length();
         }
 
+        /**
+         * Finds the trie of the available zone IDs, rebuilding it if more IDs have been registered.
+         * <p>
+         * The trie is replaced as a whole, thus a parse always uses a complete trie.
+         *
+         * @return the trie, not null
+         */
+        private static ZoneIdTrie findTrie() {
+            ZoneIdSnapshot regionIds = ZoneRulesProvider.getZoneIdSnapshot();
+            Entry<ZoneIdSnapshot, ZoneIdTrie> cached = cachedTrie;
+            if (cached == null || cached.getKey().getGeneration() < regionIds.getGeneration()) {
+                synchronized (ZoneIdPrinterParser.class) {
+                    cached = cachedTrie;
+                    if (cached == null || cached.getKey().getGeneration() < regionIds.getGeneration()) {
+                        String[] ids = regionIds.getZoneIds().toArray(new String[regionIds.getZoneIds().size()]);
+                        Arrays.sort(ids);
+                        cachedTrie = cached = new SimpleImmutableEntry<>(regionIds, new ZoneIdTrie(ids, 0, ids.length, 0));
+                    }
+                }
+            }
+            return cached.getValue();
+        }
+
         //-----------------------------------------------------------------------
         /**
-         * Model a tree of substrings to make the parsing easier. Due to the nature
-         * of time-zone names, it can be faster to parse based in unique substrings
-         * rather than just a character by character match.
+         * A path-compressed trie of zone IDs, used to find the longest ID at a position.
          * <p>
-         * For example, to parse America/Denver we can look at the first two
-         * character "Am". We then notice that the shortest time-zone that starts
-         * with Am is America/Nome which is 12 characters long. Checking the first
-         * 12 characters of America/Denver gives America/Denv which is a substring
-         * of only 1 time-zone: America/Denver. Thus, with just 3 comparisons that
-         * match can be found.
+         * Each node matches a run of characters, held as a range of one of the IDs below
+         * it rather than copied. A node reached at the end of an ID holds that ID.
+         * The children are indexed by their first character, sorted for binary search.
          * <p>
-         * This structure maps substrings to substrings of a longer length. Each
-         * node of the tree contains a length and a map of valid substrings to
-         * sub-nodes. The parser gets the length from the root node. It then
-         * extracts a substring of that length from the parseText. If the map
-         * contains the substring, it is set as the possible time-zone and the
-         * sub-node for that substring is retrieved. The process continues until the
-         * substring is no longer found, at which point the matched text is checked
-         * against the real time-zones.
+         * For example, the node for "America/" has children for 'A', 'B', 'C' and so on,
+         * and the child for 'D' matches "Denver" directly as no other ID shares the prefix.
+         * Matching compares characters in place, and does not allocate.
          */
-        private static final class SubstringTree {
+        static final class ZoneIdTrie {
+            /**
+             * The ID holding the characters matched by this node.
+             */
+            private final String label;
+            /**
+             * The start of the characters matched by this node, inclusive.
+             */
+            private final int start;
+            /**
+             * The end of the characters matched by this node, exclusive.
+             */
+            private final int end;
             /**
-             * The length of the substring this node of the tree contains.
-             * Subtrees will have a longer length.
+             * The ID ending at this node, null if none.
              */
-            final int length;
+            private final String id;
             /**
-             * Map of a substring to a set of substrings that contain the key.
+             * The first character of each child, sorted.
              */
-            private final Map<CharSequence, SubstringTree> substringMap = new HashMap<>();
+            private final char[] keys;
+            /**
+             * The child nodes, in the same order as the keys.
+             */
+            private final ZoneIdTrie[] children;
 
             /**
-             * Constructor.
+             * Builds the node for a range of sorted IDs that share the first {@code depth} characters.
              *
-             * @param length  the length of this tree
+             * @param ids  the IDs, sorted, not null
+             * @param from  the first ID, inclusive
+             * @param to  the last ID, exclusive
+             * @param depth  the length of the prefix already matched by the parent nodes
              */
-            private SubstringTree(int length) {
-                this.length = length;
-            }
-
-            private SubstringTree get(CharSequence substring2) {
-                return substringMap.get(substring2);
-
+            ZoneIdTrie(String[] ids, int from, int to, int depth) {
+                if (from == to) {
+                    label = "";
+                    start = end = 0;
+                    id = null;
+                    keys = new char[0];
+                    children = new ZoneIdTrie[0];
+                    return;
+                }
+                // as the IDs are sorted, a character shared by the first and last is shared by all
+                String first = ids[from];
+                String last = ids[to - 1];
+                int pos = depth;
+                while (pos < first.length() && pos < last.length() && first.charAt(pos) == last.charAt(pos)) {
+                    pos++;
+                }
+                label = first;
+                start = depth;
+                end = pos;
+                if (first.length() == pos) {
+                    id = first;
+                    from++;
+                } else {
+                    id = null;
+                }
+                // group the remaining IDs by the character following this node
+                List<ZoneIdTrie> childList = new ArrayList<>();
+                StringBuilder keyBuf = new StringBuilder();
+                int groupStart = from;
+                for (int i = from; i <= to; i++) {
+                    if (i == to || ids[i].charAt(pos) != ids[groupStart].charAt(pos)) {
+                        if (i > groupStart) {
+                            keyBuf.append(ids[groupStart].charAt(pos));
+                            childList.add(new ZoneIdTrie(ids, groupStart, i, pos));
+                        }
+                        groupStart = i;
+                    }
+                }
+                keys = keyBuf.toString().toCharArray();
+                children = childList.toArray(new ZoneIdTrie[childList.size()]);
             }
 
             /**
-             * Values must be added from shortest to longest.
+             * Finds the longest ID matching the text at the position.
              *
-             * @param newSubstring  the substring to add, not null
+             * @param text  the text to match, not null
+             * @param position  the position of the characters matched by this node
+             * @param caseSensitive  whether to match case sensitively
+             * @return the longest matching ID in its registered case, null if none
              */
-            private void add(String newSubstring) {
-                int idLen = newSubstring.length();
-                if (idLen == length) {
-                    substringMap.put(newSubstring, null);
-                } else if (idLen > length) {
-                    String substring = newSubstring.substring(0, length);
-                    SubstringTree parserTree = substringMap.get(substring);
-                    if (parserTree == null) {
-                        parserTree = new SubstringTree(idLen);
-                        substringMap.put(substring, parserTree);
+            String match(CharSequence text, int position, boolean caseSensitive) {
+                if (position + end - start > text.length()) {
+                    return null;
+                }
+                for (int i = start; i < end; i++, position++) {
+                    if (charEquals(text.charAt(position), label.charAt(i), caseSensitive) == false) {
+                        return null;
                     }
-                    parserTree.add(newSubstring);
                 }
+                String best = null;
+                if (position < text.length()) {
+                    char ch = text.charAt(position);
+                    if (caseSensitive) {
+                        int index = Arrays.binarySearch(keys, ch);
+                        if (index >= 0) {
+                            best = children[index].match(text, position, true);
+                        }
+                    } else {
+                        // several children may match ignoring case, the longest match wins
+                        for (int i = 0; i < keys.length; i++) {
+                            if (charEquals(ch, keys[i], false)) {
+                                String found = children[i].match(text, position, false);
+                                if (found != null && (best == null || found.length() > best.length())) {
+                                    best = found;
+                                }
+                            }
+                        }
+                    }
+                }
+                return (best != null ? best : id);
             }
-        }
 
-        /**
-         * Builds an optimized parsing tree.
-         *
-         * @param availableIDs  the available IDs, not null, not empty
-         * @return the tree, not null
-         */
-        private static SubstringTree prepareParser(Set<String> availableIDs) {
-            // sort by length
-            List<String> ids = new ArrayList<>(availableIDs);
-            Collections.sort(ids, LENGTH_SORT);
-
-            // build the tree
-            SubstringTree tree = new SubstringTree(ids.get(0).length());
-            for (String id : ids) {
-                tree.add(id);
+            /**
+             * Compares two characters, as per {@link DateTimeParseContext#subSequenceEquals}.
+             *
+             * @param ch1  the first character
+             * @param ch2  the second character
+             * @param caseSensitive  whether to compare case sensitively
+             * @return true if equal
+             */
+            private static boolean charEquals(char ch1, char ch2, boolean caseSensitive) {
+                if (ch1 == ch2) {
+                    return true;
+                }
+                return caseSensitive == false && (Character.toUpperCase(ch1) == Character.toUpperCase(ch2) ||
+                        Character.toLowerCase(ch1) == Character.toLowerCase(ch2));
             }
-            return tree;
         }
 
         //-----------------------------------------------------------------------
@@ -2740,14 +3149,4 @@ public final class DateTimeFormatterBuilder {
         }
     }
 
-    //-------------------------------------------------------------------------
-    /**
-     * Length comparator.
-     */
-    static final Comparator<String> LENGTH_SORT = new Comparator<String>() {
-        public int compare(String str1, String str2) {
-            return str1.length() == str2.length() ? str1.compareTo(str2) : str1.length() - str2.length();
-        }
-    };
-
 }
@@ -32,10 +32,12 @@
 package javax.time.format;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
 
+import javax.time.calendrical.ChronoField;
 import javax.time.calendrical.DateTimeBuilder;
 import javax.time.calendrical.DateTimeField;
 
@@ -56,6 +58,20 @@ import javax.time.calendrical.DateTimeField;
  */
 final class DateTimeParseContext {
 
+    /**
+     * The chrono fields, indexed by ordinal.
+     */
+    private static final ChronoField[] CHRONO_FIELDS = ChronoField.values();
+    /**
+     * The number of chrono fields, which must fit in the bitmask of parsed fields.
+     */
+    private static final int CHRONO_FIELD_COUNT = CHRONO_FIELDS.length;
+    static {
+        if (CHRONO_FIELD_COUNT > 64) {
+            throw new IllegalStateException("Too many chrono fields for bitmask");
+        }
+    }
+
     /**
      * The locale, not null.
      */
@@ -73,9 +89,37 @@ final class DateTimeParseContext {
      */
     private boolean strict = true;
     /**
-     * The list of parsed data.
+     * The values of the parsed chrono fields, indexed by ordinal.
+     */
+    private final long[] chronoValues = new long[CHRONO_FIELD_COUNT];
+    /**
+     * The bitmask of the parsed chrono fields, by ordinal.
+     */
+    private long chronoPresent;
+    /**
+     * The ordinals of the parsed chrono fields, in the order parsed.
+     * As only the first value of a field is stored, each field occurs at most once.
+     * This doubles as the undo log of optional segments.
+     */
+    private final int[] chronoOrder = new int[CHRONO_FIELD_COUNT];
+    /**
+     * The number of parsed chrono fields.
+     */
+    private int chronoCount;
+    /**
+     * The other parsed data in the order parsed, null until needed.
+     * This holds the values of other fields, repeated chrono fields and complete objects.
      */
-    private final ArrayList<Parsed> parsed = new ArrayList<>();
+    private ArrayList<Object> others;
+    /**
+     * The marks of the open optional segments, as pairs of the chrono field count
+     * and the size of the other data when each segment started.
+     */
+    private int[] marks = new int[8];
+    /**
+     * The number of open optional segments.
+     */
+    private int markCount;
 
     /**
      * Creates a new instance of the context.
@@ -89,7 +133,6 @@ final class DateTimeParseContext {
         super();
         setLocale(locale);
         setSymbols(symbols);
-        parsed.add(new Parsed());
     }
 
     //-----------------------------------------------------------------------
@@ -223,32 +266,36 @@ final class DateTimeParseContext {
      * Starts the parsing of an optional segment of the input.
      */
     void startOptional() {
-        parsed.add(currentParsed().clone());
+        if (markCount * 2 == marks.length) {
+            marks = Arrays.copyOf(marks, marks.length * 2);
+        }
+        marks[markCount * 2] = chronoCount;
+        marks[markCount * 2 + 1] = (others != null ? others.size() : 0);
+        markCount++;
     }
 
     /**
      * Ends the parsing of an optional segment of the input.
+     * <p>
+     * If unsuccessful, the data parsed since the segment started is discarded.
      *
      * @param successful  whether the optional segment was successfully parsed
      */
     void endOptional(boolean successful) {
-        if (successful) {
-            parsed.remove(parsed.size() - 2);
-        } else {
-            parsed.remove(parsed.size() - 1);
+        markCount--;
+        if (successful == false) {
+            int chronoMark = marks[markCount * 2];
+            while (chronoCount > chronoMark) {
+                chronoCount--;
+                chronoPresent &= ~(1L << chronoOrder[chronoCount]);
+            }
+            int othersMark = marks[markCount * 2 + 1];
+            if (others != null && others.size() > othersMark) {
+                others.subList(othersMark, others.size()).clear();
+            }
         }
     }
 
-    //-----------------------------------------------------------------------
-    /**
-     * Gets the currently active date-time objects.
-     *
-     * @return the current date-time objects, not null
-     */
-    private Parsed currentParsed() {
-        return parsed.get(parsed.size() - 1);
-    }
-
     //-----------------------------------------------------------------------
     /**
      * Gets the first value that was parsed for the specified field.
@@ -262,7 +309,14 @@ final class DateTimeParseContext {
      * @return the value mapped to the specified field, null if field was not parsed
      */
     public Long getParsed(DateTimeField field) {
-        for (Object obj : currentParsed().parsed) {
+        if (field instanceof ChronoField) {
+            int ordinal = ((ChronoField) field).ordinal();
+            return ((chronoPresent & (1L << ordinal)) != 0 ? chronoValues[ordinal] : null);
+        }
+        if (others == null) {
+            return null;
+        }
+        for (Object obj : others) {
             if (obj instanceof FieldValue) {
                 FieldValue fv = (FieldValue) obj;
                 if (fv.field.equals(field)) {
@@ -284,7 +338,10 @@ final class DateTimeParseContext {
      */
     @SuppressWarnings("unchecked")
     public <T> T getParsed(Class<T> clazz) {
-        for (Object obj : currentParsed().parsed) {
+        if (others == null) {
+            return null;
+        }
+        for (Object obj : others) {
             if (clazz.isInstance(obj)) {
                 return (T) obj;
             }
@@ -299,7 +356,15 @@ final class DateTimeParseContext {
      */
     List<Object> getParsed() {
         // package scoped for testing
-        return currentParsed().parsed;
+        List<Object> list = new ArrayList<>();
+        for (int i = 0; i < chronoCount; i++) {
+            int ordinal = chronoOrder[i];
+            list.add(new FieldValue(CHRONO_FIELDS[ordinal], chronoValues[ordinal]));
+        }
+        if (others != null) {
+            list.addAll(others);
+        }
+        return list;
     }
 
     /**
@@ -313,7 +378,21 @@ final class DateTimeParseContext {
      */
     public void setParsedField(DateTimeField field, long value) {
         Objects.requireNonNull(field, "field");
-        currentParsed().parsed.add(new FieldValue(field, value));
+        if (field instanceof ChronoField) {
+            int ordinal = ((ChronoField) field).ordinal();
+            long bit = 1L << ordinal;
+            if ((chronoPresent & bit) == 0) {
+                chronoPresent |= bit;
+                chronoValues[ordinal] = value;
+                chronoOrder[chronoCount++] = ordinal;
+                return;
+            }
+            if (chronoValues[ordinal] == value) {
+                return;  // a repeated equal value adds nothing
+            }
+            // a repeated different value is retained, so that the conflict is reported when building
+        }
+        addOther(new FieldValue(field, value));
     }
 
     /**
@@ -326,7 +405,19 @@ final class DateTimeParseContext {
      */
     public <T> void setParsed(Object object) {
         Objects.requireNonNull(object, "object");
-        currentParsed().parsed.add(object);
+        addOther(object);
+    }
+
+    /**
+     * Adds to the other parsed data.
+     *
+     * @param object  the field value or object to add, not null
+     */
+    private void addOther(Object object) {
+        if (others == null) {
+            others = new ArrayList<>(4);
+        }
+        others.add(object);
     }
 
     //-----------------------------------------------------------------------
@@ -343,14 +434,19 @@ final class DateTimeParseContext {
      * @return a new builder with the results of the parse, not null
      */
     public DateTimeBuilder toBuilder() {
-        List<Object> cals = currentParsed().parsed;
         DateTimeBuilder builder = new DateTimeBuilder();
-        for (Object obj : cals) {
-            if (obj instanceof FieldValue) {
-                FieldValue fv = (FieldValue) obj;
-                builder.addFieldValue(fv.field, fv.value);
-            } else {
-                builder.addCalendrical(obj);
+        for (int i = 0; i < chronoCount; i++) {
+            int ordinal = chronoOrder[i];
+            builder.addFieldValue(CHRONO_FIELDS[ordinal], chronoValues[ordinal]);
+        }
+        if (others != null) {
+            for (Object obj : others) {
+                if (obj instanceof FieldValue) {
+                    FieldValue fv = (FieldValue) obj;
+                    builder.addFieldValue(fv.field, fv.value);
+                } else {
+                    builder.addCalendrical(obj);
+                }
             }
         }
         return builder;
@@ -364,27 +460,7 @@ final class DateTimeParseContext {
      */
     @Override
     public String toString() {
-        return currentParsed().toString();
-    }
-
-    //-----------------------------------------------------------------------
-    /**
-     * Temporary store of parsed data.
-     */
-    private static final class Parsed {
-        final List<Object> parsed = new ArrayList<>();
-        private Parsed() {
-        }
-        @Override
-        protected Parsed clone() {
-            Parsed cloned = new Parsed();
-            cloned.parsed.addAll(this.parsed);
-            return cloned;
-        }
-        @Override
-        public String toString() {
-            return parsed.toString();
-        }
+        return getParsed().toString();
     }
 
     //-----------------------------------------------------------------------
@@ -67,6 +67,10 @@ final class DateTimePrintContext {
      * Whether the current formatter is optional.
      */
     private int optional;
+    /**
+     * The value last read by {@link #readValue(DateTimeField)}.
+     */
+    private long value;
 
     /**
      * Creates a new instance of the context.
@@ -204,6 +208,37 @@ final class DateTimePrintContext {
         }
     }
 
+    /**
+     * Reads the value of the specified field without boxing.
+     * <p>
+     * This is equivalent to {@link #getValue(DateTimeField)}, but stores the value
+     * in this context, where it is available from {@link #getReadValue()}.
+     *
+     * @param field  the field to find, not null
+     * @return true if the value was read, false if not found and optional is true
+     * @throws DateTimeException if the field is not available and the section is not optional
+     */
+    boolean readValue(DateTimeField field) {
+        try {
+            value = dateTime.getLong(field);
+            return true;
+        } catch (DateTimeException ex) {
+            if (optional > 0) {
+                return false;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Gets the value last read by {@link #readValue(DateTimeField)}.
+     *
+     * @return the value
+     */
+    long getReadValue() {
+        return value;
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Returns a string version of the context for debugging.
@@ -37,6 +37,7 @@ import java.util.Map.Entry;
 import java.util.spi.LocaleServiceProvider;
 
 import javax.time.calendrical.DateTimeField;
+import javax.time.format.SimpleDateTimeTextProvider.LocaleStore;
 
 /**
  * The Service Provider Interface (SPI) to be implemented by classes providing
@@ -83,4 +84,18 @@ public abstract class DateTimeTextProvider extends LocaleServiceProvider {
      */
     public abstract Iterator<Entry<String, Long>> getTextIterator(DateTimeField field, TextStyle style, Locale locale);
 
+    /**
+     * Gets the store of text for the specified field and locale, allowing the
+     * parser to use the precompiled tries of the store instead of the iterator.
+     * <p>
+     * This is only available from the providers within this package.
+     *
+     * @param field  the field to get text for, not null
+     * @param locale  the locale to get text for, not null
+     * @return the store, null if the text is only available from the iterator
+     */
+    LocaleStore getLocaleStore(DateTimeField field, Locale locale) {
+        return null;
+    }
+
 }
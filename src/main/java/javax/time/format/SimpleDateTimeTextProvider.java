@@ -38,6 +38,7 @@ import static javax.time.calendrical.ChronoField.MONTH_OF_YEAR;
 import java.text.DateFormatSymbols;
 import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collections;
 import java.util.Comparator;
@@ -47,6 +48,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
@@ -100,6 +102,12 @@ final class SimpleDateTimeTextProvider extends DateTimeTextProvider {
         return null;
     }
 
+    @Override
+    LocaleStore getLocaleStore(DateTimeField field, Locale locale) {
+        Object store = findStore(field, locale);
+        return (store instanceof LocaleStore ? (LocaleStore) store : null);
+    }
+
     //-----------------------------------------------------------------------
     private Object findStore(DateTimeField field, Locale locale) {
         Entry<DateTimeField, Locale> key = createEntry(field, locale);
@@ -237,6 +245,14 @@ final class SimpleDateTimeTextProvider extends DateTimeTextProvider {
          * Parsable data.
          */
         private final Map<TextStyle, List<Entry<String, Long>>> parsable;
+        /**
+         * Parsable data as case sensitive tries.
+         */
+        private final Map<TextStyle, TextTrie> sensitiveTries;
+        /**
+         * Parsable data as case insensitive tries, with the case folded.
+         */
+        private final Map<TextStyle, TextTrie> insensitiveTries;
 
         //-----------------------------------------------------------------------
         /**
@@ -263,6 +279,12 @@ final class SimpleDateTimeTextProvider extends DateTimeTextProvider {
             }
             Collections.sort(allList, COMPARATOR);
             this.parsable = map;
+            this.sensitiveTries = new HashMap<>();
+            this.insensitiveTries = new HashMap<>();
+            for (Map.Entry<TextStyle, List<Entry<String, Long>>> entry : map.entrySet()) {
+                sensitiveTries.put(entry.getKey(), TextTrie.of(entry.getValue(), false));
+                insensitiveTries.put(entry.getKey(), TextTrie.of(entry.getValue(), true));
+            }
         }
 
         //-----------------------------------------------------------------------
@@ -292,6 +314,165 @@ final class SimpleDateTimeTextProvider extends DateTimeTextProvider {
             List<Entry<String, Long>> list = parsable.get(style);
             return list != null ? list.iterator() : null;
         }
+
+        /**
+         * Gets the trie of text to field for the specified style for the purpose of parsing.
+         * <p>
+         * The trie matches the same text as {@link #getTextIterator(TextStyle)}.
+         *
+         * @param style  the style to get text for, null for all parsable text
+         * @param caseSensitive  whether the trie should match case sensitively
+         * @return the trie, null if the style is not parsable
+         */
+        TextTrie getTrie(TextStyle style, boolean caseSensitive) {
+            return (caseSensitive ? sensitiveTries : insensitiveTries).get(style);
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * A trie of text to field value, used to parse text in a single pass.
+     * <p>
+     * A case insensitive trie folds the case of the text when built, and of
+     * each parsed character when matched, using {@link #fold(char)}.
+     * <p>
+     * This class is immutable and thread-safe.
+     */
+    static final class TextTrie {
+        /**
+         * The value of the text ending at this node, null if none.
+         */
+        private final Long value;
+        /**
+         * The next character of each child, sorted.
+         */
+        private final char[] keys;
+        /**
+         * The child nodes, in the same order as the keys.
+         */
+        private final TextTrie[] children;
+
+        /**
+         * Creates a trie of the text.
+         * <p>
+         * Where several entries have the same text, or the same text ignoring case,
+         * the first entry is used, as it would be when iterating.
+         *
+         * @param entries  the text to field pairs, in order from longest to shortest, not null
+         * @param caseInsensitive  whether to fold the case of the text
+         * @return the trie, not null
+         */
+        static TextTrie of(List<Entry<String, Long>> entries, boolean caseInsensitive) {
+            TreeMap<String, Long> map = new TreeMap<>();
+            for (Entry<String, Long> entry : entries) {
+                String text = entry.getKey();
+                if (caseInsensitive) {
+                    char[] chars = text.toCharArray();
+                    for (int i = 0; i < chars.length; i++) {
+                        chars[i] = fold(chars[i]);
+                    }
+                    text = new String(chars);
+                }
+                if (map.containsKey(text) == false) {
+                    map.put(text, entry.getValue());
+                }
+            }
+            String[] texts = map.keySet().toArray(new String[map.size()]);
+            Long[] values = map.values().toArray(new Long[map.size()]);
+            return new TextTrie(texts, values, 0, texts.length, 0);
+        }
+
+        /**
+         * Builds the node for a range of sorted text that shares the first {@code depth} characters.
+         *
+         * @param texts  the text, sorted, not null
+         * @param values  the values, in the same order as the text, not null
+         * @param from  the first text, inclusive
+         * @param to  the last text, exclusive
+         * @param depth  the length of the text matched by the parent nodes
+         */
+        private TextTrie(String[] texts, Long[] values, int from, int to, int depth) {
+            // as the text is sorted, text ending at this node is first
+            if (from < to && texts[from].length() == depth) {
+                value = values[from];
+                from++;
+            } else {
+                value = null;
+            }
+            List<TextTrie> childList = new ArrayList<>();
+            StringBuilder keyBuf = new StringBuilder();
+            int groupStart = from;
+            for (int i = from; i <= to; i++) {
+                if (i == to || texts[i].charAt(depth) != texts[groupStart].charAt(depth)) {
+                    if (i > groupStart) {
+                        keyBuf.append(texts[groupStart].charAt(depth));
+                        childList.add(new TextTrie(texts, values, groupStart, i, depth + 1));
+                    }
+                    groupStart = i;
+                }
+            }
+            keys = keyBuf.toString().toCharArray();
+            children = childList.toArray(new TextTrie[childList.size()]);
+        }
+
+        /**
+         * Parses the longest text matching at the position, storing the field value.
+         *
+         * @param context  the context to store the parsed value in, not null
+         * @param field  the field to store, not null
+         * @param text  the text to parse, not null
+         * @param position  the position to start parsing at
+         * @param caseInsensitive  whether this trie was built case insensitive
+         * @return the new position, negative if no text matched
+         */
+        int parse(DateTimeParseContext context, DateTimeField field, CharSequence text, int position, boolean caseInsensitive) {
+            TextTrie node = this;
+            TextTrie best = null;
+            int bestEnd = 0;
+            int length = text.length();
+            for (int pos = position; ; pos++) {
+                if (node.value != null) {
+                    best = node;
+                    bestEnd = pos;
+                }
+                if (pos == length) {
+                    break;
+                }
+                char ch = text.charAt(pos);
+                if (caseInsensitive) {
+                    ch = fold(ch);
+                }
+                char[] keys = node.keys;
+                if (keys.length == 1) {
+                    // most nodes after the first few characters have a single child
+                    if (keys[0] != ch) {
+                        break;
+                    }
+                    node = node.children[0];
+                } else {
+                    int index = Arrays.binarySearch(keys, ch);
+                    if (index < 0) {
+                        break;
+                    }
+                    node = node.children[index];
+                }
+            }
+            if (best == null) {
+                return ~position;
+            }
+            context.setParsedField(field, best.value);
+            return bestEnd;
+        }
+
+        /**
+         * Folds the case of a character for case insensitive matching.
+         *
+         * @param ch  the character to fold
+         * @return the folded character
+         */
+        static char fold(char ch) {
+            return Character.toLowerCase(Character.toUpperCase(ch));
+        }
     }
 
 }
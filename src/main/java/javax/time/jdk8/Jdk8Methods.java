@@ -204,6 +204,24 @@ public final class Jdk8Methods {
         return (int) value;
     }
 
+    //-----------------------------------------------------------------------
+    /**
+     * Checks the index range of a bulk operation between two arrays.
+     * <p>
+     * The range is valid if it lies within both the input and the output array.
+     *
+     * @param inLength  the length of the input array
+     * @param fromIndex  the first index, inclusive
+     * @param toIndex  the last index, exclusive
+     * @param outLength  the length of the output array
+     * @throws IndexOutOfBoundsException if the range is invalid
+     */
+    public static void checkBulkRange(int inLength, int fromIndex, int toIndex, int outLength) {
+        if (fromIndex < 0 || fromIndex > toIndex || toIndex > inLength || toIndex > outLength) {
+            throw new IndexOutOfBoundsException("Invalid range: " + fromIndex + " to " + toIndex);
+        }
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Returns the floor division.
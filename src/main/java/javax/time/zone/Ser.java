@@ -39,6 +39,7 @@ import java.io.InvalidClassException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
 import java.io.StreamCorruptedException;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.time.ZoneOffset;
 
@@ -125,18 +126,29 @@ final class Ser implements Externalizable {
      */
     public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
         type = in.readByte();
-        object = readInternal(type, in);
+        object = readInternal(type, in, null);
     }
 
     static Object read(DataInput in) throws IOException, ClassNotFoundException {
+        return read(in, null);
+    }
+
+    /**
+     * Reads an object, sharing equal offsets and rules with objects read previously.
+     *
+     * @param in  the data to read, not null
+     * @param deduplicateMap  the map of shared instances, null to not share
+     * @return the read object, not null
+     */
+    static Object read(DataInput in, ConcurrentMap<Object, Object> deduplicateMap) throws IOException, ClassNotFoundException {
         byte type = in.readByte();
-        return readInternal(type, in);
+        return readInternal(type, in, deduplicateMap);
     }
 
-    private static Object readInternal(byte type, DataInput in) throws IOException, ClassNotFoundException {
+    private static Object readInternal(byte type, DataInput in, ConcurrentMap<Object, Object> deduplicateMap) throws IOException, ClassNotFoundException {
         switch (type) {
             case SZR:
-                return StandardZoneRules.readExternal(in);
+                return StandardZoneRules.readExternal(in, deduplicateMap);
             case ZOT:
                 return ZoneOffsetTransition.readExternal(in);
             case ZOTRULE:
@@ -35,12 +35,15 @@ import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
 import java.io.Serializable;
-import java.util.ArrayList;
+import java.util.AbstractList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import javax.time.Duration;
 import javax.time.Instant;
@@ -81,11 +84,13 @@ final class StandardZoneRules implements ZoneRules, Serializable {
      */
     private final long[] savingsInstantTransitions;
     /**
-     * The transitions between local date-times, sorted.
+     * The transitions between local date-times (local epoch seconds), sorted.
      * This is a paired array, where the first entry is the start of the transition
      * and the second entry is the end of the transition.
+     * This is derived from the instant transitions on first use, as many rules
+     * are only ever queried by instant.
      */
-    private final LocalDateTime[] savingsLocalTransitions;
+    private volatile long[] savingsLocalTransitions;
     /**
      * The wall offsets.
      */
@@ -95,10 +100,19 @@ final class StandardZoneRules implements ZoneRules, Serializable {
      */
     private final ZoneOffsetTransitionRule[] lastRules;
     /**
-     * The map of recent transitions.
+     * The cache of historic transitions, indexed as per the instant transitions.
+     * This is lazily created and populated, so that each transition is only created once.
      */
-    private final ConcurrentMap<Integer, ZoneOffsetTransition[]> lastRulesCache =
-                new ConcurrentHashMap<Integer, ZoneOffsetTransition[]>();
+    private volatile AtomicReferenceArray<ZoneOffsetTransition> savingsTransitionCache;
+    /**
+     * The first year to have its transitions cached, typically the year of the last historic transition.
+     */
+    private final int lastRulesCacheBaseYear;
+    /**
+     * The cache of recent transitions, indexed by year minus the base year.
+     * This is lazily created and populated, and is only used if there are last rules.
+     */
+    private volatile AtomicReferenceArray<ZoneOffsetTransition[]> lastRulesCache;
 
     /**
      * Creates an instance.
@@ -126,27 +140,13 @@ final class StandardZoneRules implements ZoneRules, Serializable {
             this.standardOffsets[i + 1] = standardOffsetTransitionList.get(i).getOffsetAfter();
         }
 
-        // convert savings transitions to locals
-        List<LocalDateTime> localTransitionList = new ArrayList<>();
-        List<ZoneOffset> localTransitionOffsetList = new ArrayList<>();
-        localTransitionOffsetList.add(baseWallOffset);
-        for (ZoneOffsetTransition trans : transitionList) {
-            if (trans.isGap()) {
-                localTransitionList.add(trans.getDateTimeBefore());
-                localTransitionList.add(trans.getDateTimeAfter());
-            } else {
-                localTransitionList.add(trans.getDateTimeAfter());
-                localTransitionList.add(trans.getDateTimeBefore());
-            }
-            localTransitionOffsetList.add(trans.getOffsetAfter());
-        }
-        this.savingsLocalTransitions = localTransitionList.toArray(new LocalDateTime[localTransitionList.size()]);
-        this.wallOffsets = localTransitionOffsetList.toArray(new ZoneOffset[localTransitionOffsetList.size()]);
-
         // convert savings transitions to instants
         this.savingsInstantTransitions = new long[transitionList.size()];
+        this.wallOffsets = new ZoneOffset[transitionList.size() + 1];
+        this.wallOffsets[0] = baseWallOffset;
         for (int i = 0; i < transitionList.size(); i++) {
-            this.savingsInstantTransitions[i] = transitionList.get(i).getInstant().getEpochSecond();
+            this.savingsInstantTransitions[i] = transitionList.get(i).toEpochSecond();
+            this.wallOffsets[i + 1] = transitionList.get(i).getOffsetAfter();
         }
 
         // last rules
@@ -154,6 +154,7 @@ final class StandardZoneRules implements ZoneRules, Serializable {
             throw new IllegalArgumentException("Too many transition rules");
         }
         this.lastRules = lastRules.toArray(new ZoneOffsetTransitionRule[lastRules.size()]);
+        this.lastRulesCacheBaseYear = findLastRulesCacheBaseYear();
     }
 
     /**
@@ -178,22 +179,105 @@ final class StandardZoneRules implements ZoneRules, Serializable {
         this.savingsInstantTransitions = savingsInstantTransitions;
         this.wallOffsets = wallOffsets;
         this.lastRules = lastRules;
+        this.lastRulesCacheBaseYear = findLastRulesCacheBaseYear();
+    }
 
-        // convert savings transitions to locals
-        List<LocalDateTime> localTransitionList = new ArrayList<>();
-        for (int i = 0; i < savingsInstantTransitions.length; i++) {
-            ZoneOffset before = wallOffsets[i];
-            ZoneOffset after = wallOffsets[i + 1];
-            ZoneOffsetTransition trans = new ZoneOffsetTransition(savingsInstantTransitions[i], before, after);
-            if (trans.isGap()) {
-                localTransitionList.add(trans.getDateTimeBefore());
-                localTransitionList.add(trans.getDateTimeAfter());
-            } else {
-                localTransitionList.add(trans.getDateTimeAfter());
-                localTransitionList.add(trans.getDateTimeBefore());
+    /**
+     * Gets the savings transitions as local epoch seconds, creating them on first use.
+     * <p>
+     * The array is derived purely from immutable state, thus if two threads race
+     * both create an equal array and either may be retained.
+     *
+     * @return the paired local transitions, not null
+     */
+    private long[] findLocalTransitions() {
+        long[] localTransitions = savingsLocalTransitions;
+        if (localTransitions == null) {
+            localTransitions = createLocalTransitions(savingsInstantTransitions, wallOffsets);
+            savingsLocalTransitions = localTransitions;
+        }
+        return localTransitions;
+    }
+
+    /**
+     * Converts the savings transitions to local epoch seconds.
+     * <p>
+     * Each transition is converted to a pair of local epoch seconds, the earlier
+     * being the start of the gap or overlap and the later being the end.
+     *
+     * @param instantTransitions  the transition epoch seconds, not null
+     * @param wallOffsets  the wall offsets, one larger than the transitions, not null
+     * @return the paired local transitions, not null
+     */
+    private static long[] createLocalTransitions(long[] instantTransitions, ZoneOffset[] wallOffsets) {
+        long[] localTransitions = new long[instantTransitions.length * 2];
+        for (int i = 0; i < instantTransitions.length; i++) {
+            long localBefore = instantTransitions[i] + wallOffsets[i].getTotalSeconds();
+            long localAfter = instantTransitions[i] + wallOffsets[i + 1].getTotalSeconds();
+            localTransitions[i * 2] = Math.min(localBefore, localAfter);
+            localTransitions[i * 2 + 1] = Math.max(localBefore, localAfter);
+        }
+        return localTransitions;
+    }
+
+    /**
+     * Gets the historic transition at the specified index, using the cache.
+     *
+     * @param index  the index of the transition in the instant transitions
+     * @return the transition, not null
+     */
+    private ZoneOffsetTransition findSavingsTransition(int index) {
+        AtomicReferenceArray<ZoneOffsetTransition> cache = savingsTransitionCache;
+        if (cache == null) {
+            synchronized (this) {
+                cache = savingsTransitionCache;
+                if (cache == null) {
+                    cache = new AtomicReferenceArray<>(savingsInstantTransitions.length);
+                    savingsTransitionCache = cache;
+                }
+            }
+        }
+        ZoneOffsetTransition trans = cache.get(index);
+        if (trans == null) {
+            trans = new ZoneOffsetTransition(savingsInstantTransitions[index], wallOffsets[index], wallOffsets[index + 1]);
+            if (cache.compareAndSet(index, null, trans) == false) {
+                trans = cache.get(index);
+            }
+        }
+        return trans;
+    }
+
+    /**
+     * Finds the first year that the last rules can apply to.
+     *
+     * @return the base year of the last rules cache
+     */
+    private int findLastRulesCacheBaseYear() {
+        if (savingsInstantTransitions.length == 0) {
+            return LAST_CACHED_YEAR;
+        }
+        long lastHistoric = savingsInstantTransitions[savingsInstantTransitions.length - 1];
+        return findYear(lastHistoric, wallOffsets[wallOffsets.length - 1]) - 1;  // allow for offset at year end
+    }
+
+    /**
+     * Gets the cache of transitions for the years from the base year to the last cached year,
+     * creating it on first use.
+     *
+     * @return the cache, not null
+     */
+    private AtomicReferenceArray<ZoneOffsetTransition[]> findLastRulesCache() {
+        AtomicReferenceArray<ZoneOffsetTransition[]> cache = lastRulesCache;
+        if (cache == null) {
+            synchronized (this) {
+                cache = lastRulesCache;
+                if (cache == null) {
+                    cache = new AtomicReferenceArray<>(Math.max(LAST_CACHED_YEAR - lastRulesCacheBaseYear, 0));
+                    lastRulesCache = cache;
+                }
             }
         }
-        this.savingsLocalTransitions = localTransitionList.toArray(new LocalDateTime[localTransitionList.size()]);
+        return cache;
     }
 
     //-----------------------------------------------------------------------
@@ -235,12 +319,17 @@ final class StandardZoneRules implements ZoneRules, Serializable {
 
     /**
      * Reads the state from the stream.
+     * <p>
+     * Many rules are identical in part, notably across versions of the same region.
+     * If a map is specified, offsets not cached by {@code ZoneOffset} and transition
+     * rules are replaced by any equal instance already in the map.
      *
      * @param in  the input stream, not null
+     * @param deduplicateMap  the map of shared instances, null to not share
      * @return the created object, not null
      * @throws IOException if an error occurs
      */
-    static StandardZoneRules readExternal(DataInput in) throws IOException, ClassNotFoundException {
+    static StandardZoneRules readExternal(DataInput in, ConcurrentMap<Object, Object> deduplicateMap) throws IOException, ClassNotFoundException {
         int stdSize = in.readInt();
         long[] stdTrans = new long[stdSize];
         for (int i = 0; i < stdSize; i++) {
@@ -248,7 +337,7 @@ final class StandardZoneRules implements ZoneRules, Serializable {
         }
         ZoneOffset[] stdOffsets = new ZoneOffset[stdSize + 1];
         for (int i = 0; i < stdOffsets.length; i++) {
-            stdOffsets[i] = Ser.readOffset(in);
+            stdOffsets[i] = deduplicateOffset(Ser.readOffset(in), deduplicateMap);
         }
         int savSize = in.readInt();
         long[] savTrans = new long[savSize];
@@ -257,16 +346,46 @@ final class StandardZoneRules implements ZoneRules, Serializable {
         }
         ZoneOffset[] savOffsets = new ZoneOffset[savSize + 1];
         for (int i = 0; i < savOffsets.length; i++) {
-            savOffsets[i] = Ser.readOffset(in);
+            savOffsets[i] = deduplicateOffset(Ser.readOffset(in), deduplicateMap);
         }
         int ruleSize = in.readByte();
         ZoneOffsetTransitionRule[] rules = new ZoneOffsetTransitionRule[ruleSize];
         for (int i = 0; i < ruleSize; i++) {
-            rules[i] = ZoneOffsetTransitionRule.readExternal(in);
+            rules[i] = deduplicate(ZoneOffsetTransitionRule.readExternal(in), deduplicateMap);
         }
         return new StandardZoneRules(stdTrans, stdOffsets, savTrans, savOffsets, rules);
     }
 
+    /**
+     * Deduplicates an offset, ignoring those already cached by {@code ZoneOffset}.
+     *
+     * @param offset  the offset to deduplicate, not null
+     * @param deduplicateMap  the map of shared instances, null to not share
+     * @return the shared offset, not null
+     */
+    private static ZoneOffset deduplicateOffset(ZoneOffset offset, ConcurrentMap<Object, Object> deduplicateMap) {
+        if (offset.getTotalSeconds() % (15 * 60) == 0) {
+            return offset;
+        }
+        return deduplicate(offset, deduplicateMap);
+    }
+
+    /**
+     * Deduplicates an object, returning any equal instance already in the map.
+     *
+     * @param object  the object to deduplicate, not null
+     * @param deduplicateMap  the map of shared instances, null to not share
+     * @return the shared object, not null
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T deduplicate(T object, ConcurrentMap<Object, Object> deduplicateMap) {
+        if (deduplicateMap == null) {
+            return object;
+        }
+        Object existing = deduplicateMap.putIfAbsent(object, object);
+        return (existing != null ? (T) existing : object);
+    }
+
     //-----------------------------------------------------------------------
     @Override
     public boolean isFixedOffset() {
@@ -276,8 +395,11 @@ final class StandardZoneRules implements ZoneRules, Serializable {
     //-----------------------------------------------------------------------
     @Override
     public ZoneOffset getOffset(Instant instant) {
-        long epochSec = instant.getEpochSecond();
+        return getOffset(instant.getEpochSecond());
+    }
 
+    @Override
+    public ZoneOffset getOffset(long epochSec) {
         // check if using last rules
         if (lastRules.length > 0 &&
                 epochSec > savingsInstantTransitions[savingsInstantTransitions.length - 1]) {
@@ -314,7 +436,6 @@ final class StandardZoneRules implements ZoneRules, Serializable {
 
     @Override
     public List<ZoneOffset> getValidOffsets(LocalDateTime localDateTime) {
-        // should probably be optimized
         Object info = getOffsetInfo(localDateTime);
         if (info instanceof ZoneOffsetTransition) {
             return ((ZoneOffsetTransition) info).getValidOffsets();
@@ -322,6 +443,12 @@ final class StandardZoneRules implements ZoneRules, Serializable {
         return Collections.singletonList((ZoneOffset) info);
     }
 
+    @Override
+    public ZoneOffset getValidOffset(LocalDateTime localDateTime) {
+        Object info = getOffsetInfo(localDateTime);
+        return (info instanceof ZoneOffset ? (ZoneOffset) info : null);
+    }
+
     @Override
     public ZoneOffsetTransition getTransition(LocalDateTime localDateTime) {
         Object info = getOffsetInfo(localDateTime);
@@ -329,22 +456,37 @@ final class StandardZoneRules implements ZoneRules, Serializable {
     }
 
     private Object getOffsetInfo(LocalDateTime dt) {
+        // fractions of a second are ignored as transitions are always on whole seconds
+        // a fractional local second compares as later than an equal transition second
+        long localSecond = dt.toEpochSecond(ZoneOffset.UTC);
+        boolean fraction = (dt.getNano() > 0);
+
         // check if using last rules
-        if (lastRules.length > 0 &&
-                dt.isAfter(savingsLocalTransitions[savingsLocalTransitions.length - 1])) {
-            ZoneOffsetTransition[] transArray = findTransitionArray(dt.getYear());
-            Object info = null;
-            for (ZoneOffsetTransition trans : transArray) {
-                info = findOffsetInfo(dt, trans);
-                if (info instanceof ZoneOffsetTransition || info.equals(trans.getOffsetBefore())) {
-                    return info;
+        long[] localTransitions = findLocalTransitions();
+        if (lastRules.length > 0) {
+            long lastLocal = localTransitions[localTransitions.length - 1];
+            if (localSecond > lastLocal || (localSecond == lastLocal && fraction)) {
+                ZoneOffsetTransition[] transArray = findTransitionArray(dt.getYear());
+                Object info = null;
+                for (ZoneOffsetTransition trans : transArray) {
+                    info = findOffsetInfo(localSecond, trans);
+                    if (info instanceof ZoneOffsetTransition || info.equals(trans.getOffsetBefore())) {
+                        return info;
+                    }
                 }
+                return info;
             }
-            return info;
         }
 
         // using historic rules
-        int index  = Arrays.binarySearch(savingsLocalTransitions, dt);
+        int index  = Arrays.binarySearch(localTransitions, localSecond);
+        if (index >= 0 && fraction) {
+            // later than all transitions at the matched second
+            while (index < localTransitions.length - 1 && localTransitions[index + 1] == localSecond) {
+                index++;
+            }
+            index = -index - 2;  // convert to insert position following the matched range
+        }
         if (index == -1) {
             // before first transition
             return wallOffsets[0];
@@ -352,24 +494,14 @@ final class StandardZoneRules implements ZoneRules, Serializable {
         if (index < 0) {
             // switch negative insert position to start of matched range
             index = -index - 2;
-        } else if (index < savingsLocalTransitions.length - 1 &&
-                savingsLocalTransitions[index].equals(savingsLocalTransitions[index + 1])) {
+        } else if (index < localTransitions.length - 1 &&
+                localTransitions[index] == localTransitions[index + 1]) {
             // handle overlap immediately following gap
             index++;
         }
         if ((index & 1) == 0) {
             // gap or overlap
-            LocalDateTime dtBefore = savingsLocalTransitions[index];
-            LocalDateTime dtAfter = savingsLocalTransitions[index + 1];
-            ZoneOffset offsetBefore = wallOffsets[index / 2];
-            ZoneOffset offsetAfter = wallOffsets[index / 2 + 1];
-            if (offsetAfter.getTotalSeconds() > offsetBefore.getTotalSeconds()) {
-                // gap
-                return new ZoneOffsetTransition(dtBefore, offsetBefore, offsetAfter);
-            } else {
-                // overlap
-                return new ZoneOffsetTransition(dtAfter, offsetBefore, offsetAfter);
-            }
+            return findSavingsTransition(index / 2);
         } else {
             // normal (neither gap or overlap)
             return wallOffsets[index / 2 + 1];
@@ -379,26 +511,26 @@ final class StandardZoneRules implements ZoneRules, Serializable {
     /**
      * Finds the offset info for a local date-time and transition.
      *
-     * @param dt  the date-time, not null
+     * @param localSecond  the local epoch-second, ignoring any fraction of a second
      * @param trans  the transition, not null
      * @return the offset info, not null
      */
-    private Object findOffsetInfo(LocalDateTime dt, ZoneOffsetTransition trans) {
-        LocalDateTime localTransition = trans.getDateTimeBefore();
+    private Object findOffsetInfo(long localSecond, ZoneOffsetTransition trans) {
+        long localTransition = trans.toLocalEpochSecondBefore();
         if (trans.isGap()) {
-            if (dt.isBefore(localTransition)) {
+            if (localSecond < localTransition) {
                 return trans.getOffsetBefore();
             }
-            if (dt.isBefore(trans.getDateTimeAfter())) {
+            if (localSecond < trans.toLocalEpochSecondAfter()) {
                 return trans;
             } else {
                 return trans.getOffsetAfter();
             }
         } else {
-            if (dt.isBefore(localTransition) == false) {
+            if (localSecond >= localTransition) {
                 return trans.getOffsetAfter();
             }
-            if (dt.isBefore(trans.getDateTimeAfter())) {
+            if (localSecond < trans.toLocalEpochSecondAfter()) {
                 return trans.getOffsetBefore();
             } else {
                 return trans;
@@ -408,7 +540,123 @@ final class StandardZoneRules implements ZoneRules, Serializable {
 
     @Override
     public boolean isValidOffset(LocalDateTime localDateTime, ZoneOffset offset) {
-        return getValidOffsets(localDateTime).contains(offset);
+        Object info = getOffsetInfo(localDateTime);
+        if (info instanceof ZoneOffsetTransition) {
+            return ((ZoneOffsetTransition) info).isValidOffset(offset);
+        }
+        return info.equals(offset);
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public void getOffsets(long[] epochSeconds, int fromIndex, int toIndex, int[] offsetSecondsOut) {
+        Jdk8Methods.checkBulkRange(epochSeconds.length, fromIndex, toIndex, offsetSecondsOut.length);
+        int length = savingsInstantTransitions.length;
+        long lastHistoric = (length > 0 ? savingsInstantTransitions[length - 1] : Long.MIN_VALUE);
+        int lastOffsetSecs = wallOffsets[wallOffsets.length - 1].getTotalSeconds();
+        int index = -1;
+        // the year of the last rules in use, with its bounds as epoch-seconds
+        ZoneOffsetTransition[] transArray = null;
+        long yearStart = 0;
+        long yearEnd = 0;
+        for (int i = fromIndex; i < toIndex; i++) {
+            long epochSec = epochSeconds[i];
+            if (lastRules.length > 0 && epochSec > lastHistoric) {
+                if (transArray == null || epochSec < yearStart || epochSec >= yearEnd) {
+                    long localEpochDay = Jdk8Methods.floorDiv(epochSec + lastOffsetSecs, 86400);
+                    LocalDate date = LocalDate.ofEpochDay(localEpochDay);
+                    transArray = findTransitionArray(date.getYear());
+                    yearStart = (localEpochDay - date.getDayOfYear() + 1) * 86400 - lastOffsetSecs;
+                    yearEnd = yearStart + date.lengthOfYear() * 86400L;
+                }
+                ZoneOffset offset = null;
+                for (ZoneOffsetTransition trans : transArray) {
+                    if (epochSec < trans.toEpochSecond()) {
+                        offset = trans.getOffsetBefore();
+                        break;
+                    }
+                    offset = trans.getOffsetAfter();
+                }
+                offsetSecondsOut[i] = offset.getTotalSeconds();
+            } else {
+                index = seek(savingsInstantTransitions, index, epochSec);
+                offsetSecondsOut[i] = wallOffsets[index + 1].getTotalSeconds();
+            }
+        }
+    }
+
+    @Override
+    public void getLocalOffsets(long[] localEpochSeconds, int fromIndex, int toIndex, int[] offsetSecondsOut) {
+        Jdk8Methods.checkBulkRange(localEpochSeconds.length, fromIndex, toIndex, offsetSecondsOut.length);
+        long[] localTransitions = findLocalTransitions();
+        int length = localTransitions.length;
+        long lastLocal = (length > 0 ? localTransitions[length - 1] : Long.MIN_VALUE);
+        int index = -1;
+        // the year of the last rules in use, with its bounds as local epoch-seconds
+        ZoneOffsetTransition[] transArray = null;
+        long yearStart = 0;
+        long yearEnd = 0;
+        for (int i = fromIndex; i < toIndex; i++) {
+            long localSecond = localEpochSeconds[i];
+            if (lastRules.length > 0 && localSecond > lastLocal) {
+                if (transArray == null || localSecond < yearStart || localSecond >= yearEnd) {
+                    long localEpochDay = Jdk8Methods.floorDiv(localSecond, 86400);
+                    LocalDate date = LocalDate.ofEpochDay(localEpochDay);
+                    transArray = findTransitionArray(date.getYear());
+                    yearStart = (localEpochDay - date.getDayOfYear() + 1) * 86400;
+                    yearEnd = yearStart + date.lengthOfYear() * 86400L;
+                }
+                Object info = null;
+                for (ZoneOffsetTransition trans : transArray) {
+                    info = findOffsetInfo(localSecond, trans);
+                    if (info instanceof ZoneOffsetTransition || info.equals(trans.getOffsetBefore())) {
+                        break;
+                    }
+                }
+                ZoneOffset offset = (info instanceof ZoneOffsetTransition ?
+                        ((ZoneOffsetTransition) info).getOffsetBefore() : (ZoneOffset) info);
+                offsetSecondsOut[i] = offset.getTotalSeconds();
+            } else {
+                // the local transitions are in pairs, with an even index the start of a gap or overlap
+                // where the offset before is used, and an odd index the end where the offset after is used
+                index = seek(localTransitions, index, localSecond);
+                ZoneOffset offset = (index < 0 ? wallOffsets[0] :
+                        ((index & 1) == 0 ? wallOffsets[index / 2] : wallOffsets[index / 2 + 1]));
+                offsetSecondsOut[i] = offset.getTotalSeconds();
+            }
+        }
+    }
+
+    /**
+     * Finds the index of the last element less than or equal to the value.
+     * <p>
+     * The search starts from the previous result, making it fast when the values
+     * are ascending, as the result usually changes by zero or one.
+     *
+     * @param array  the sorted array to search, not null
+     * @param index  the previous result, -1 if none
+     * @param value  the value to find
+     * @return the index of the last element less than or equal to the value, -1 if none
+     */
+    private static int seek(long[] array, int index, long value) {
+        if (index >= 0 && array[index] > value) {
+            index = -1;  // values are not ascending, search from the start
+        }
+        int next = index + 1;
+        if (next >= array.length || array[next] > value) {
+            return index;
+        }
+        if (next + 1 >= array.length || array[next + 1] > value) {
+            return next;
+        }
+        int found = Arrays.binarySearch(array, next + 1, array.length, value);
+        if (found < 0) {
+            return -found - 2;
+        }
+        while (found + 1 < array.length && array[found + 1] == value) {
+            found++;
+        }
+        return found;
     }
 
     //-----------------------------------------------------------------------
@@ -419,18 +667,22 @@ final class StandardZoneRules implements ZoneRules, Serializable {
      * @return the transition array, not null
      */
     private ZoneOffsetTransition[] findTransitionArray(int year) {
-        Integer yearObj = year;  // should use Year class, but this saves a class load
-        ZoneOffsetTransition[] transArray = lastRulesCache.get(yearObj);
-        if (transArray != null) {
-            return transArray;
+        int index = year - lastRulesCacheBaseYear;
+        AtomicReferenceArray<ZoneOffsetTransition[]> cache = findLastRulesCache();
+        boolean cacheable = (index >= 0 && index < cache.length());
+        if (cacheable) {
+            ZoneOffsetTransition[] transArray = cache.get(index);
+            if (transArray != null) {
+                return transArray;
+            }
         }
         ZoneOffsetTransitionRule[] ruleArray = lastRules;
-        transArray  = new ZoneOffsetTransition[ruleArray.length];
+        ZoneOffsetTransition[] transArray  = new ZoneOffsetTransition[ruleArray.length];
         for (int i = 0; i < ruleArray.length; i++) {
             transArray[i] = ruleArray[i].createTransition(year);
         }
-        if (year < LAST_CACHED_YEAR) {
-            lastRulesCache.putIfAbsent(yearObj, transArray);
+        if (cacheable && cache.compareAndSet(index, null, transArray) == false) {
+            return cache.get(index);  // another thread won the race, share its array
         }
         return transArray;
     }
@@ -438,7 +690,11 @@ final class StandardZoneRules implements ZoneRules, Serializable {
     //-----------------------------------------------------------------------
     @Override
     public ZoneOffset getStandardOffset(Instant instant) {
-        long epochSec = instant.getEpochSecond();
+        return getStandardOffset(instant.getEpochSecond());
+    }
+
+    @Override
+    public ZoneOffset getStandardOffset(long epochSec) {
         int index  = Arrays.binarySearch(standardTransitions, epochSec);
         if (index < 0) {
             // switch negative insert position to start of matched range
@@ -449,14 +705,16 @@ final class StandardZoneRules implements ZoneRules, Serializable {
 
     @Override
     public Duration getDaylightSavings(Instant instant) {
-        ZoneOffset standardOffset = getStandardOffset(instant);
-        ZoneOffset actualOffset = getOffset(instant);
+        long epochSec = instant.getEpochSecond();
+        ZoneOffset standardOffset = getStandardOffset(epochSec);
+        ZoneOffset actualOffset = getOffset(epochSec);
         return Duration.ofSeconds(actualOffset.getTotalSeconds() - standardOffset.getTotalSeconds());
     }
 
     @Override
     public boolean isDaylightSavings(Instant instant) {
-        return (getStandardOffset(instant).equals(getOffset(instant)) == false);
+        long epochSec = instant.getEpochSecond();
+        return (getStandardOffset(epochSec).equals(getOffset(epochSec)) == false);
     }
 
     //-----------------------------------------------------------------------
@@ -492,7 +750,7 @@ final class StandardZoneRules implements ZoneRules, Serializable {
         } else {
             index += 1;  // exact match, so need to add one to get the next
         }
-        return new ZoneOffsetTransition(savingsInstantTransitions[index], wallOffsets[index], wallOffsets[index + 1]);
+        return findSavingsTransition(index);
     }
 
     @Override
@@ -531,7 +789,7 @@ final class StandardZoneRules implements ZoneRules, Serializable {
         if (index <= 0) {
             return null;
         }
-        return new ZoneOffsetTransition(savingsInstantTransitions[index - 1], wallOffsets[index - 1], wallOffsets[index]);
+        return findSavingsTransition(index - 1);
     }
 
     private int findYear(long epochSecond, ZoneOffset offset) {
@@ -541,14 +799,46 @@ final class StandardZoneRules implements ZoneRules, Serializable {
         return LocalDate.ofEpochDay(localEpochDay).getYear();
     }
 
+    @Override
+    public Iterator<ZoneOffsetTransition> transitions(Instant from, Instant to) {
+        Objects.requireNonNull(from, "from");
+        Objects.requireNonNull(to, "to");
+        return new TransitionIterator(ceilingSecond(from), ceilingSecond(to));
+    }
+
+    @Override
+    public ZoneOffsetCursor offsetCursor() {
+        return ZoneOffsetCursor.of(this);
+    }
+
+    /**
+     * Gets the first whole epoch-second at or after the instant.
+     *
+     * @param instant  the instant, not null
+     * @return the epoch-second
+     */
+    private static long ceilingSecond(Instant instant) {
+        long epochSec = instant.getEpochSecond();
+        return (instant.getNano() > 0 && epochSec < Long.MAX_VALUE ? epochSec + 1 : epochSec);
+    }
+
     //-------------------------------------------------------------------------
     @Override
     public List<ZoneOffsetTransition> getTransitions() {
-        List<ZoneOffsetTransition> list = new ArrayList<>();
-        for (int i = 0; i < savingsInstantTransitions.length; i++) {
-            list.add(new ZoneOffsetTransition(savingsInstantTransitions[i], wallOffsets[i], wallOffsets[i + 1]));
-        }
-        return Collections.unmodifiableList(list);
+        // view of the historic transitions, each created on demand and cached
+        return new AbstractList<ZoneOffsetTransition>() {
+            @Override
+            public ZoneOffsetTransition get(int index) {
+                if (index < 0 || index >= savingsInstantTransitions.length) {
+                    throw new IndexOutOfBoundsException("Index: " + index);
+                }
+                return findSavingsTransition(index);
+            }
+            @Override
+            public int size() {
+                return savingsInstantTransitions.length;
+            }
+        };
     }
 
     @Override
@@ -593,4 +883,104 @@ final class StandardZoneRules implements ZoneRules, Serializable {
         return "StandardZoneRules[currentStandardOffset=" + standardOffsets[standardOffsets.length - 1] + "]";
     }
 
+    //-----------------------------------------------------------------------
+    /**
+     * Iterator over the transitions in a range of epoch-seconds.
+     * <p>
+     * The historic transitions are walked by index, then the last rules
+     * are applied to each year in turn, with the next transition always
+     * located in advance.
+     */
+    private final class TransitionIterator implements Iterator<ZoneOffsetTransition> {
+        /** The epoch-second to end at, exclusive. */
+        private final long endSec;
+        /** The epoch-second that last rules transitions must be at or after. */
+        private long minLastRulesSec;
+        /** The index of the next historic transition. */
+        private int index;
+        /** The year of the current last rules transitions. */
+        private int year;
+        /** The current last rules transitions, null if not yet using last rules. */
+        private ZoneOffsetTransition[] transArray;
+        /** The index of the next last rules transition. */
+        private int transIndex;
+        /** The next transition to return, null if the iteration has finished. */
+        private ZoneOffsetTransition next;
+
+        TransitionIterator(long startSec, long endSec) {
+            this.endSec = endSec;
+            this.minLastRulesSec = startSec;
+            int length = savingsInstantTransitions.length;
+            if (length > 0 && startSec <= savingsInstantTransitions[length - 1]) {
+                int found = Arrays.binarySearch(savingsInstantTransitions, startSec);
+                index = (found < 0 ? -found - 1 : found);
+            } else {
+                index = length;
+            }
+            next = (startSec < endSec ? advance() : null);
+        }
+
+        /**
+         * Locates the transition after the current position.
+         *
+         * @return the transition, null if there are no more transitions in the range
+         */
+        private ZoneOffsetTransition advance() {
+            int length = savingsInstantTransitions.length;
+            if (index < length) {
+                if (savingsInstantTransitions[index] >= endSec) {
+                    return null;
+                }
+                return findSavingsTransition(index++);
+            }
+            if (lastRules.length == 0) {
+                return null;
+            }
+            if (transArray == null) {
+                if (length > 0) {
+                    minLastRulesSec = Math.max(minLastRulesSec, savingsInstantTransitions[length - 1] + 1);
+                }
+                year = findYear(minLastRulesSec, wallOffsets[wallOffsets.length - 1]);
+                transArray = findTransitionArray(year);
+            }
+            while (true) {
+                while (transIndex < transArray.length) {
+                    ZoneOffsetTransition trans = transArray[transIndex++];
+                    long epochSec = trans.toEpochSecond();
+                    if (epochSec >= endSec) {
+                        return null;
+                    }
+                    if (epochSec >= minLastRulesSec) {
+                        return trans;
+                    }
+                }
+                if (year >= LocalDate.MAX_YEAR) {
+                    return null;
+                }
+                transArray = findTransitionArray(++year);
+                transIndex = 0;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public ZoneOffsetTransition next() {
+            ZoneOffsetTransition trans = next;
+            if (trans == null) {
+                throw new NoSuchElementException();
+            }
+            next = advance();
+            return trans;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("Transitions cannot be removed");
+        }
+    }
+
 }
@@ -35,25 +35,50 @@ import static javax.time.calendrical.ChronoField.HOUR_OF_DAY;
 import static javax.time.calendrical.ChronoField.MINUTE_OF_HOUR;
 import static javax.time.calendrical.ChronoField.SECOND_OF_MINUTE;
 
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
 import java.io.DataOutputStream;
+import java.io.EOFException;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.text.ParsePosition;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.SortedMap;
-import java.util.StringTokenizer;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import java.util.jar.JarOutputStream;
+import java.util.zip.GZIPInputStream;
 import java.util.zip.ZipEntry;
 
 import javax.time.DayOfWeek;
@@ -94,6 +119,24 @@ final class TzdbZoneRulesCompiler {
      * Constant for MJD 1972-01-01.
      */
     private static final long MJD_1972_01_01 = 41317L;
+    /**
+     * The default format of the TZDB data file.
+     */
+    private static final int DEFAULT_FORMAT = 2;
+    /**
+     * The regex that versions must match.
+     */
+    private static final String VERSION_REGEX = "[12][0-9][0-9][0-9][A-Za-z0-9._-]+";
+    /**
+     * The version of the compilation cache.
+     * This must be incremented whenever a change to the compiler alters the compiled rules,
+     * the serialized form of the rules changes, or the layout of the cache file changes.
+     */
+    private static final int CACHE_VERSION = 2;
+    /**
+     * The digest algorithm used for the cache key and the cache file digest.
+     */
+    private static final String CACHE_DIGEST = "SHA-256";
 
     /**
      * Reads a set of TZDB files and builds a single combined data file.
@@ -110,7 +153,9 @@ final class TzdbZoneRulesCompiler {
         String version = null;
         File baseSrcDir = null;
         File dstDir = null;
+        File cacheDir = null;
         boolean verbose = false;
+        int format = 0;
 
         // parse options
         int i;
@@ -129,11 +174,21 @@ final class TzdbZoneRulesCompiler {
                     dstDir = new File(args[i]);
                     continue;
                 }
+            } else if ("-cachedir".equals(arg)) {
+                if (cacheDir == null && ++i < args.length) {
+                    cacheDir = new File(args[i]);
+                    continue;
+                }
             } else if ("-version".equals(arg)) {
                 if (version == null && ++i < args.length) {
                     version = args[i];
                     continue;
                 }
+            } else if ("-format".equals(arg)) {
+                if (format == 0 && ++i < args.length && args[i].matches("[12]")) {
+                    format = Integer.parseInt(args[i]);
+                    continue;
+                }
             } else if ("-verbose".equals(arg)) {
                 if (verbose == false) {
                     verbose = true;
@@ -166,25 +221,38 @@ final class TzdbZoneRulesCompiler {
                     "etcetera", "europe", "northamerica", "southamerica");
         }
 
-        // find source directories to process
+        // find source directories and archives to process
         List<File> srcDirs = new ArrayList<>();
         if (version != null) {
             File srcDir = new File(baseSrcDir, version);
-            if (srcDir.isDirectory() == false) {
-                System.out.println("Version does not represent a valid source directory : " + srcDir);
+            File srcArchive = new File(baseSrcDir, "tzdata" + version + ".tar.gz");
+            if (srcDir.isDirectory()) {
+                srcDirs.add(srcDir);
+            } else if (srcArchive.isFile()) {
+                srcDirs.add(srcArchive);
+            } else {
+                System.out.println("Version does not represent a valid source directory or archive: " + srcDir);
                 return;
             }
-            srcDirs.add(srcDir);
         } else {
             File[] dirs = baseSrcDir.listFiles();
+            Arrays.sort(dirs);  // process in a stable order so that the output is reproducible
             for (File dir : dirs) {
-                if (dir.isDirectory() && dir.getName().matches("[12][0-9][0-9][0-9][A-Za-z0-9._-]+")) {
+                if (dir.isDirectory() && dir.getName().matches(VERSION_REGEX)) {
                     srcDirs.add(dir);
+                } else if (dir.isFile() && dir.getName().matches("tzdata" + VERSION_REGEX + "\\.tar\\.gz")) {
+                    // only one source per version, preferring the directory as for an explicit version
+                    String archiveVersion = dir.getName().replaceAll("^tzdata|\\.tar\\.gz$", "");
+                    if (new File(baseSrcDir, archiveVersion).isDirectory() == false) {
+                        srcDirs.add(dir);
+                    } else if (verbose) {
+                        System.out.println("Ignoring archive as directory exists for version " + archiveVersion + ": " + dir);
+                    }
                 }
             }
         }
         if (srcDirs.isEmpty()) {
-            System.out.println("Source directory contains no valid source folders: " + baseSrcDir);
+            System.out.println("Source directory contains no valid source folders or archives: " + baseSrcDir);
             return;
         }
 
@@ -197,7 +265,12 @@ final class TzdbZoneRulesCompiler {
             System.out.println("Destination is not a directory: " + dstDir);
             return;
         }
-        process(srcDirs, srcFileNames, dstDir, verbose);
+        // check cache directory
+        if (cacheDir != null && cacheDir.exists() == false && cacheDir.mkdirs() == false) {
+            System.out.println("Cache directory could not be created: " + cacheDir);
+            return;
+        }
+        process(srcDirs, srcFileNames, dstDir, cacheDir, format != 0 ? format : DEFAULT_FORMAT, verbose);
         System.exit(0);
     }
 
@@ -209,65 +282,205 @@ final class TzdbZoneRulesCompiler {
         System.out.println("where options include:");
         System.out.println("   -srcdir <directory>   Where to find source directories (required)");
         System.out.println("   -dstdir <directory>   Where to output generated files (default srcdir)");
+        System.out.println("   -cachedir <directory> Where to cache compiled versions between runs (optional)");
         System.out.println("   -version <version>    Specify the version, such as 2009a (optional)");
+        System.out.println("   -format <1|2>         The format of the data file (default 2)");
         System.out.println("   -help                 Print this usage message");
         System.out.println("   -verbose              Output verbose information during compilation");
-        System.out.println(" There must be one directory for each version in srcdir");
+        System.out.println(" There must be one directory or archive for each version in srcdir");
         System.out.println(" Each directory must have the name of the version, such as 2009a");
         System.out.println(" Each directory must contain the unpacked tzdb files, such as asia or europe");
         System.out.println(" Directories must match the regex [12][0-9][0-9][0-9][A-Za-z0-9._-]+");
+        System.out.println(" Alternatively, the tzdb archive may be used as is, such as tzdata2009a.tar.gz");
         System.out.println(" There will be one jar file for each version and one combined jar in dstdir");
         System.out.println(" If the version is specified, only that version is processed");
+        System.out.println(" If the cache is specified, versions whose source is unchanged are not recompiled");
+    }
+
+    /**
+     * Creates a compiler for the files in a source directory.
+     *
+     * @return the compiler, null if there are no source files
+     */
+    private static TzdbZoneRulesCompiler createFromDirectory(String version, File srcDir, List<String> srcFileNames, boolean verbose) {
+        // source files in this directory
+        List<File> srcFiles = new ArrayList<>();
+        for (String srcFileName : srcFileNames) {
+            File file = new File(srcDir, srcFileName);
+            if (file.exists()) {
+                srcFiles.add(file);
+            }
+        }
+        if (srcFiles.isEmpty()) {
+            return null;
+        }
+        File leapSecondsFile = new File(srcDir, "leapseconds");
+        if (!leapSecondsFile.exists()) {
+            System.out.println("Version " + version + " does not include leap seconds information.");
+            leapSecondsFile = null;
+        }
+        return new TzdbZoneRulesCompiler(version, srcFiles, leapSecondsFile, verbose);
+    }
+
+    /**
+     * Creates a compiler for the files in a source archive, a tzdata tar.gz file.
+     * The archive is read in a single pass, without unpacking to disk.
+     *
+     * @return the compiler, null if there are no source files
+     */
+    private static TzdbZoneRulesCompiler createFromArchive(
+            String version, File srcArchive, List<String> srcFileNames, boolean verbose) throws IOException {
+        Map<String, byte[]> entries;
+        try (InputStream in = new GZIPInputStream(new FileInputStream(srcArchive), 65536)) {
+            entries = readTar(in);
+        }
+        // source files in this archive, in the order specified
+        Map<String, byte[]> srcData = new LinkedHashMap<>();
+        for (String srcFileName : srcFileNames) {
+            byte[] data = entries.get(srcFileName);
+            if (data != null) {
+                srcData.put(srcArchive + "!" + srcFileName, data);
+            }
+        }
+        if (srcData.isEmpty()) {
+            return null;
+        }
+        byte[] leapSecondsData = entries.get("leapseconds");
+        if (leapSecondsData == null) {
+            System.out.println("Version " + version + " does not include leap seconds information.");
+        }
+        return new TzdbZoneRulesCompiler(version, srcData, leapSecondsData, verbose);
+    }
+
+    /**
+     * Reads the regular files from an uncompressed tar stream.
+     * <p>
+     * This is a minimal reader, supporting the plain and ustar formats.
+     * Extended headers, directories and links are skipped.
+     *
+     * @param in  the tar stream, not null
+     * @return the file contents keyed by the path within the archive, not null
+     * @throws IOException if an error occurs
+     */
+    static Map<String, byte[]> readTar(InputStream in) throws IOException {
+        Map<String, byte[]> entries = new HashMap<>();
+        DataInputStream dis = new DataInputStream(in);
+        byte[] header = new byte[512];
+        while (true) {
+            try {
+                dis.readFully(header);
+            } catch (EOFException ex) {
+                break;  // tolerate a missing end of archive marker
+            }
+            if (header[0] == 0) {
+                break;  // end of archive
+            }
+            String name = readTarString(header, 0, 100);
+            if (readTarString(header, 257, 6).equals("ustar")) {
+                String prefix = readTarString(header, 345, 155);
+                if (prefix.length() > 0) {
+                    name = prefix + "/" + name;
+                }
+            }
+            long size = readTarOctal(header, 124, 12);
+            byte type = header[156];
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Tar entry too large: " + name);
+            }
+            byte[] data = new byte[(int) size];
+            dis.readFully(data);
+            int padding = (int) ((512 - (size % 512)) % 512);
+            dis.readFully(header, 0, padding);
+            if (type == '0' || type == 0) {
+                entries.put(name.startsWith("./") ? name.substring(2) : name, data);
+            }
+        }
+        return entries;
+    }
+
+    private static String readTarString(byte[] header, int offset, int length) {
+        int end = offset;
+        while (end < offset + length && header[end] != 0) {
+            end++;
+        }
+        return new String(header, offset, end - offset, StandardCharsets.US_ASCII).trim();
+    }
+
+    private static long readTarOctal(byte[] header, int offset, int length) throws IOException {
+        long value = 0;
+        for (int i = offset; i < offset + length; i++) {
+            byte b = header[i];
+            if (b >= '0' && b <= '7') {
+                value = value * 8 + (b - '0');
+            } else if (b != ' ' && b != 0) {
+                throw new IOException("Invalid tar header");
+            }
+        }
+        return value;
     }
 
     /**
      * Process to create the jar files.
+     * <p>
+     * Each version is compiled, and its own jar file output, in parallel.
+     * The combined jar file is output once all versions are complete.
+     * If a cache directory is specified, versions that have not changed since
+     * they were cached are read from the cache instead of being compiled.
      */
-    private static void process(List<File> srcDirs, List<String> srcFileNames, File dstDir, boolean verbose) {
+    private static void process(List<File> srcDirs, final List<String> srcFileNames, final File dstDir,
+            final File cacheDir, final int format, final boolean verbose) {
         // build actual jar files
-        Map<Object, Object> deduplicateMap = new HashMap<>();
+        final ConcurrentMap<Object, Object> deduplicateMap = new ConcurrentHashMap<>();
         Map<String, SortedMap<String, ZoneRules>> allBuiltZones = new TreeMap<>();
         Set<String> allRegionIds = new TreeSet<String>();
-        Set<ZoneRules> allRules = new HashSet<ZoneRules>();
+        // ordered by first use, as many rules share a hash code and would be ordered by identity
+        Set<ZoneRules> allRules = new LinkedHashSet<ZoneRules>();
         SortedMap<LocalDate, Byte> bestLeapSeconds = null;
 
-        for (File srcDir : srcDirs) {
-            // source files in this directory
-            List<File> srcFiles = new ArrayList<>();
-            for (String srcFileName : srcFileNames) {
-                File file = new File(srcDir, srcFileName);
-                if (file.exists()) {
-                    srcFiles.add(file);
+        ForkJoinPool pool = new ForkJoinPool();
+        List<Future<TzdbZoneRulesCompiler>> compiled = new ArrayList<>();
+        for (final File srcDir : srcDirs) {
+            // compile
+            final String loopVersion = (srcDir.isDirectory() ? srcDir.getName() : srcDir.getName().replaceAll("^tzdata|\\.tar\\.gz$", ""));
+            compiled.add(pool.submit(new Callable<TzdbZoneRulesCompiler>() {
+                @Override
+                public TzdbZoneRulesCompiler call() throws Exception {
+                    TzdbZoneRulesCompiler compiler = (srcDir.isDirectory() ?
+                            createFromDirectory(loopVersion, srcDir, srcFileNames, verbose) :
+                            createFromArchive(loopVersion, srcDir, srcFileNames, verbose));
+                    if (compiler == null) {
+                        return null;  // nothing to process
+                    }
+                    compiler.setDeduplicateMap(deduplicateMap);
+                    if (cacheDir != null) {
+                        compiler.compile(cacheDir);
+                    } else {
+                        compiler.compile();
+                    }
+
+                    // output version-specific file
+                    File dstFile = new File(dstDir, "jsr-310-TZDB-" + loopVersion + ".jar");
+                    if (verbose) {
+                        System.out.println("Outputting file: " + dstFile);
+                    }
+                    outputFile(dstFile, loopVersion, compiler.getZones(), compiler.getLeapSeconds(), format);
+                    return compiler;
                 }
-            }
-            if (srcFiles.isEmpty()) {
-                continue;  // nothing to process
-            }
-            File leapSecondsFile = new File(srcDir, "leapseconds");
-            if (!leapSecondsFile.exists()) {
-                System.out.println("Version " + srcDir.getName() + " does not include leap seconds information.");
-                leapSecondsFile = null;
-            }
+            }));
+        }
 
-            // compile
-            String loopVersion = srcDir.getName();
-            TzdbZoneRulesCompiler compiler = new TzdbZoneRulesCompiler(loopVersion, srcFiles, leapSecondsFile, verbose);
-            compiler.setDeduplicateMap(deduplicateMap);
+        // combine in source order, so the output does not depend on the order of completion
+        for (Future<TzdbZoneRulesCompiler> future : compiled) {
             try {
-                // compile
-                compiler.compile();
+                TzdbZoneRulesCompiler compiler = future.get();
+                if (compiler == null) {
+                    continue;
+                }
                 SortedMap<String, ZoneRules> builtZones = compiler.getZones();
                 SortedMap<LocalDate, Byte> parsedLeapSeconds = compiler.getLeapSeconds();
 
-                // output version-specific file
-                File dstFile = new File(dstDir, "jsr-310-TZDB-" + loopVersion + ".jar");
-                if (verbose) {
-                    System.out.println("Outputting file: " + dstFile);
-                }
-                outputFile(dstFile, loopVersion, builtZones, parsedLeapSeconds);
-
                 // create totals
-                allBuiltZones.put(loopVersion, builtZones);
+                allBuiltZones.put(compiler.version, builtZones);
                 allRegionIds.addAll(builtZones.keySet());
                 allRules.addAll(builtZones.values());
 
@@ -280,38 +493,41 @@ final class TzdbZoneRulesCompiler {
                     }
                 }
             } catch (Exception ex) {
-                System.out.println("Failed: " + ex.toString());
-                ex.printStackTrace();
+                Throwable cause = (ex instanceof ExecutionException ? ex.getCause() : ex);
+                System.out.println("Failed: " + cause.toString());
+                cause.printStackTrace();
                 System.exit(1);
             }
         }
+        pool.shutdown();
 
         // output merged file
         File dstFile = new File(dstDir, "jsr-310-TZDB-all.jar");
         if (verbose) {
             System.out.println("Outputting combined file: " + dstFile);
         }
-        outputFile(dstFile, allBuiltZones, allRegionIds, allRules, bestLeapSeconds);
+        outputFile(dstFile, allBuiltZones, allRegionIds, allRules, bestLeapSeconds, format);
     }
 
     /**
      * Outputs the file.
      */
-    private static void outputFile(File dstFile, String version, SortedMap<String, ZoneRules> builtZones, SortedMap<LocalDate, Byte> leapSeconds) {
+    private static void outputFile(File dstFile, String version, SortedMap<String, ZoneRules> builtZones,
+            SortedMap<LocalDate, Byte> leapSeconds, int format) {
         Map<String, SortedMap<String, ZoneRules>> loopAllBuiltZones = new TreeMap<>();
         loopAllBuiltZones.put(version, builtZones);
         Set<String> loopAllRegionIds = new TreeSet<String>(builtZones.keySet());
-        Set<ZoneRules> loopAllRules = new HashSet<ZoneRules>(builtZones.values());
-        outputFile(dstFile, loopAllBuiltZones, loopAllRegionIds, loopAllRules, leapSeconds);
+        Set<ZoneRules> loopAllRules = new LinkedHashSet<ZoneRules>(builtZones.values());
+        outputFile(dstFile, loopAllBuiltZones, loopAllRegionIds, loopAllRules, leapSeconds, format);
     }
 
     /**
      * Outputs the file.
      */
     private static void outputFile(File dstFile, Map<String, SortedMap<String, ZoneRules>> allBuiltZones,
-            Set<String> allRegionIds, Set<ZoneRules> allRules, SortedMap<LocalDate, Byte> leapSeconds) {
+            Set<String> allRegionIds, Set<ZoneRules> allRules, SortedMap<LocalDate, Byte> leapSeconds, int format) {
         try (JarOutputStream jos = new JarOutputStream(new FileOutputStream(dstFile))) {
-            outputTZEntry(jos, allBuiltZones, allRegionIds, allRules);
+            outputTZEntry(jos, allBuiltZones, allRegionIds, allRules, format);
             outputLeapSecondEntry(jos, leapSeconds);
         } catch (Exception ex) {
             System.out.println("Failed: " + ex.toString());
@@ -325,52 +541,16 @@ final class TzdbZoneRulesCompiler {
      */
     private static void outputTZEntry(
             JarOutputStream jos, Map<String, SortedMap<String, ZoneRules>> allBuiltZones,
-            Set<String> allRegionIds, Set<ZoneRules> allRules) {
+            Set<String> allRegionIds, Set<ZoneRules> allRules, int format) {
         // this format is not publicly specified
         try {
             jos.putNextEntry(new ZipEntry("javax/time/zone/TZDB.dat"));
             DataOutputStream out = new DataOutputStream(jos);
-
-            // file version
-            out.writeByte(1);
-            // group
-            out.writeUTF("TZDB");
-            // versions
-            String[] versionArray = allBuiltZones.keySet().toArray(new String[allBuiltZones.size()]);
-            out.writeShort(versionArray.length);
-            for (String version : versionArray) {
-                out.writeUTF(version);
-            }
-            // regions
-            String[] regionArray = allRegionIds.toArray(new String[allRegionIds.size()]);
-            out.writeShort(regionArray.length);
-            for (String regionId : regionArray) {
-                out.writeUTF(regionId);
-            }
-            // rules
-            List<ZoneRules> rulesList = new ArrayList<>(allRules);
-            out.writeShort(rulesList.size());
-            ByteArrayOutputStream baos = new ByteArrayOutputStream(1024);
-            for (ZoneRules rules : rulesList) {
-                baos.reset();
-                DataOutputStream dataos = new DataOutputStream(baos);
-                Ser.write(rules, dataos);
-                dataos.close();
-                byte[] bytes = baos.toByteArray();
-                out.writeShort(bytes.length);
-                out.write(bytes);
-            }
-            // link version-region-rules
-            for (String version : allBuiltZones.keySet()) {
-                out.writeShort(allBuiltZones.get(version).size());
-                for (Map.Entry<String, ZoneRules> entry : allBuiltZones.get(version).entrySet()) {
-                     int regionIndex = Arrays.binarySearch(regionArray, entry.getKey());
-                     int rulesIndex = rulesList.indexOf(entry.getValue());
-                     out.writeShort(regionIndex);
-                     out.writeShort(rulesIndex);
-                }
+            if (format == 1) {
+                outputTZData1(out, allBuiltZones, allRegionIds, allRules);
+            } else {
+                outputTZData2(out, allBuiltZones, allRegionIds, allRules);
             }
-
             out.flush();
             jos.closeEntry();
         } catch (Exception ex) {
@@ -380,6 +560,151 @@ final class TzdbZoneRulesCompiler {
         }
     }
 
+    /**
+     * Outputs the timezone data in format version 1.
+     * <p>
+     * This format is sequential, with the links from version and region
+     * to rules at the end of the data.
+     */
+    static void outputTZData1(
+            DataOutputStream out, Map<String, SortedMap<String, ZoneRules>> allBuiltZones,
+            Set<String> allRegionIds, Set<ZoneRules> allRules) throws IOException {
+        // file version
+        out.writeByte(1);
+        // group
+        out.writeUTF("TZDB");
+        // versions
+        String[] versionArray = allBuiltZones.keySet().toArray(new String[allBuiltZones.size()]);
+        out.writeShort(versionArray.length);
+        for (String version : versionArray) {
+            out.writeUTF(version);
+        }
+        // regions
+        String[] regionArray = allRegionIds.toArray(new String[allRegionIds.size()]);
+        out.writeShort(regionArray.length);
+        for (String regionId : regionArray) {
+            out.writeUTF(regionId);
+        }
+        // rules
+        List<ZoneRules> rulesList = new ArrayList<>(allRules);
+        out.writeShort(rulesList.size());
+        for (byte[] bytes : serializeRules(rulesList)) {
+            out.writeShort(bytes.length);
+            out.write(bytes);
+        }
+        // link version-region-rules
+        Map<ZoneRules, Integer> rulesIndices = indexRules(rulesList);
+        for (String version : allBuiltZones.keySet()) {
+            out.writeShort(allBuiltZones.get(version).size());
+            for (Map.Entry<String, ZoneRules> entry : allBuiltZones.get(version).entrySet()) {
+                 int regionIndex = Arrays.binarySearch(regionArray, entry.getKey());
+                 int rulesIndex = rulesIndices.get(entry.getValue());
+                 out.writeShort(regionIndex);
+                 out.writeShort(rulesIndex);
+            }
+        }
+    }
+
+    /**
+     * Outputs the timezone data in format version 2.
+     * <p>
+     * This format allows random access to the rules of a single region.
+     * After the header and version IDs, the sorted region IDs are written with
+     * each one sharing a prefix with the previous one. This is followed by a
+     * table of fixed-width offsets to each rule, one table per version of fixed-width
+     * rule indices for each region, and finally the serialized rules themselves.
+     * <pre>
+     *  byte    format version, 2
+     *  UTF     group ID, TZDB
+     *  short   version count
+     *  short   region count
+     *  short   rule count
+     *  UTF     version ID, for each version
+     *  byte    length of the prefix shared with the previous region ID, for each region
+     *  UTF     remainder of the region ID, for each region
+     *  int     offset of each rule from the start of the rules section, for each rule plus one for the end
+     *  short   rule index or -1 if not present, for each version and region
+     *  bytes   the serialized rules
+     * </pre>
+     */
+    static void outputTZData2(
+            DataOutputStream out, Map<String, SortedMap<String, ZoneRules>> allBuiltZones,
+            Set<String> allRegionIds, Set<ZoneRules> allRules) throws IOException {
+        String[] versionArray = allBuiltZones.keySet().toArray(new String[allBuiltZones.size()]);
+        String[] regionArray = allRegionIds.toArray(new String[allRegionIds.size()]);
+        List<ZoneRules> rulesList = new ArrayList<>(allRules);
+        // header
+        out.writeByte(2);
+        out.writeUTF("TZDB");
+        out.writeShort(versionArray.length);
+        out.writeShort(regionArray.length);
+        out.writeShort(rulesList.size());
+        // versions
+        for (String version : versionArray) {
+            out.writeUTF(version);
+        }
+        // regions, sharing the prefix of the previous region
+        String previous = "";
+        for (String regionId : regionArray) {
+            int shared = 0;
+            int max = Math.min(Math.min(previous.length(), regionId.length()), 255);
+            while (shared < max && previous.charAt(shared) == regionId.charAt(shared)) {
+                shared++;
+            }
+            out.writeByte(shared);
+            out.writeUTF(regionId.substring(shared));
+            previous = regionId;
+        }
+        // rule offsets
+        List<byte[]> rulesBytes = serializeRules(rulesList);
+        int offset = 0;
+        for (byte[] bytes : rulesBytes) {
+            out.writeInt(offset);
+            offset += bytes.length;
+        }
+        out.writeInt(offset);
+        // link version-region-rules
+        Map<ZoneRules, Integer> rulesIndices = indexRules(rulesList);
+        for (String version : versionArray) {
+            SortedMap<String, ZoneRules> builtZones = allBuiltZones.get(version);
+            for (String regionId : regionArray) {
+                ZoneRules rules = builtZones.get(regionId);
+                out.writeShort(rules != null ? rulesIndices.get(rules) : -1);
+            }
+        }
+        // rules
+        for (byte[] bytes : rulesBytes) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Creates a lookup from rules to their index in the list.
+     */
+    private static Map<ZoneRules, Integer> indexRules(List<ZoneRules> rulesList) {
+        Map<ZoneRules, Integer> result = new HashMap<>(rulesList.size() * 2);
+        for (int i = 0; i < rulesList.size(); i++) {
+            result.put(rulesList.get(i), i);
+        }
+        return result;
+    }
+
+    /**
+     * Serializes each of the rules.
+     */
+    private static List<byte[]> serializeRules(List<ZoneRules> rulesList) throws IOException {
+        List<byte[]> result = new ArrayList<>(rulesList.size());
+        ByteArrayOutputStream baos = new ByteArrayOutputStream(1024);
+        for (ZoneRules rules : rulesList) {
+            baos.reset();
+            DataOutputStream dataos = new DataOutputStream(baos);
+            Ser.write(rules, dataos);
+            dataos.close();
+            result.add(baos.toByteArray());
+        }
+        return result;
+    }
+
     /**
      * Outputs the leap second entries in the JAR file.
      */
@@ -425,7 +750,7 @@ final class TzdbZoneRulesCompiler {
     /** The built zones. */
     private final SortedMap<String, ZoneRules> builtZones = new TreeMap<>();
     /** A map to deduplicate object instances. */
-    private Map<Object, Object> deduplicateMap = new HashMap<>();
+    private ConcurrentMap<Object, Object> deduplicateMap = new ConcurrentHashMap<>();
     /** Sorted collection of LeapSecondRules. */
     private final SortedMap<LocalDate, Byte> leapSeconds = new TreeMap<>();
 
@@ -433,8 +758,12 @@ final class TzdbZoneRulesCompiler {
     private final String version;
     /** The source files. */
     private final List<File> sourceFiles;
+    /** The source data read from an archive, keyed by name, empty if reading files. */
+    private final Map<String, byte[]> sourceData;
     /** The leap seconds file. */
     private final File leapSecondsFile;
+    /** The leap seconds data read from an archive, null if reading files. */
+    private final byte[] leapSecondsData;
     /** The version to produce. */
     private final boolean verbose;
 
@@ -448,7 +777,26 @@ final class TzdbZoneRulesCompiler {
     public TzdbZoneRulesCompiler(String version, List<File> sourceFiles, File leapSecondsFile, boolean verbose) {
         this.version = version;
         this.sourceFiles = sourceFiles;
+        this.sourceData = Collections.emptyMap();
         this.leapSecondsFile = leapSecondsFile;
+        this.leapSecondsData = null;
+        this.verbose = verbose;
+    }
+
+    /**
+     * Creates an instance to compile data that has already been read, such as from an archive.
+     *
+     * @param version  the version, such as 2009a, not null
+     * @param sourceData  the content of each source file keyed by name, in order, not empty, not null
+     * @param leapSecondsData  the content of the leap seconds file, null if none
+     * @param verbose  whether to output verbose messages
+     */
+    TzdbZoneRulesCompiler(String version, Map<String, byte[]> sourceData, byte[] leapSecondsData, boolean verbose) {
+        this.version = version;
+        this.sourceFiles = Collections.emptyList();
+        this.sourceData = sourceData;
+        this.leapSecondsFile = null;
+        this.leapSecondsData = leapSecondsData;
         this.verbose = verbose;
     }
 
@@ -467,6 +815,169 @@ final class TzdbZoneRulesCompiler {
         printVerbose("Compiled TZDB version " + version);
     }
 
+    /**
+     * Compiles the rules, using the cache if the source files have not changed.
+     * <p>
+     * The cache holds one file for each version, containing the compiled rules
+     * and leap seconds together with a hash of the content of the source files.
+     * The file ends with a digest of its content, which is checked before any rules are used.
+     * If the hash does not match, or the cache file is missing, unreadable or corrupt,
+     * the source files are compiled and the cache file replaced.
+     * The cache file is written to a temporary file and then renamed, so that a
+     * partially written cache file is never read.
+     * Rules read from the cache are deduplicated in the same way as compiled rules,
+     * allowing identical rules to be shared between versions.
+     *
+     * @param cacheDir  the cache directory, not null
+     * @return true if the rules were read from the cache
+     * @throws Exception if an error occurs
+     */
+    public boolean compile(File cacheDir) throws Exception {
+        File cacheFile = new File(cacheDir, "tzdb-" + version + ".cache");
+        byte[] key = cacheKey();
+        if (cacheFile.isFile()) {
+            try {
+                if (readCache(Files.readAllBytes(cacheFile.toPath()), key)) {
+                    printVerbose("Read TZDB version " + version + " from cache: " + cacheFile);
+                    return true;
+                }
+            } catch (IOException | ClassNotFoundException | RuntimeException ex) {
+                // a corrupt cache file can fail in many ways, such as with an invalid offset
+                printVerbose("Ignoring invalid cache file: " + cacheFile);
+            }
+        }
+        compile();
+        File tmpFile = new File(cacheDir, cacheFile.getName() + ".tmp");
+        MessageDigest digest = MessageDigest.getInstance(CACHE_DIGEST);
+        try (DigestOutputStream digestOut = new DigestOutputStream(
+                new BufferedOutputStream(new FileOutputStream(tmpFile)), digest)) {
+            DataOutputStream out = new DataOutputStream(digestOut);
+            writeCache(out, key);
+            out.flush();
+            // the digest covers the key and the payload, but not itself
+            digestOut.on(false);
+            digestOut.write(digest.digest());
+        }
+        Files.move(tmpFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        return false;
+    }
+
+    /**
+     * Calculates the hash of the source files used as the cache key.
+     *
+     * @return the hash, not null
+     * @throws Exception if an error occurs
+     */
+    private byte[] cacheKey() throws Exception {
+        MessageDigest digest = MessageDigest.getInstance(CACHE_DIGEST);
+        try (DataOutputStream out = new DataOutputStream(new DigestOutputStream(new NullOutputStream(), digest))) {
+            out.writeInt(CACHE_VERSION);
+            List<byte[]> contents = new ArrayList<>(sourceData.values());
+            for (File file : sourceFiles) {
+                contents.add(Files.readAllBytes(file.toPath()));
+            }
+            if (leapSecondsFile != null) {
+                contents.add(Files.readAllBytes(leapSecondsFile.toPath()));
+            } else if (leapSecondsData != null) {
+                contents.add(leapSecondsData);
+            }
+            // leap seconds are distinguished by being counted separately
+            out.writeInt(contents.size());
+            out.writeBoolean(leapSecondsFile != null || leapSecondsData != null);
+            for (byte[] content : contents) {
+                out.writeInt(content.length);
+                out.write(content);
+            }
+        }
+        return digest.digest();
+    }
+
+    /**
+     * Reads the compiled rules from the cache.
+     * <p>
+     * The digest at the end of the cache file is checked before the content is read.
+     * The rules and leap seconds are only stored once the whole cache file has been read.
+     *
+     * @param bytes  the content of the cache file, not null
+     * @param key  the expected cache key, not null
+     * @return true if the cache was valid and read, false if the key does not match
+     * @throws IOException if the cache is corrupt
+     * @throws ClassNotFoundException if the cache contains an unknown type
+     */
+    private boolean readCache(byte[] bytes, byte[] key) throws IOException, ClassNotFoundException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance(CACHE_DIGEST);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IOException(ex);
+        }
+        int length = bytes.length - digest.getDigestLength();
+        if (length < 0) {
+            throw new StreamCorruptedException("Cache file is truncated");
+        }
+        digest.update(bytes, 0, length);
+        if (MessageDigest.isEqual(digest.digest(), Arrays.copyOfRange(bytes, length, bytes.length)) == false) {
+            throw new StreamCorruptedException("Cache file digest does not match");
+        }
+        ByteArrayInputStream bytesIn = new ByteArrayInputStream(bytes, 0, length);
+        DataInputStream in = new DataInputStream(bytesIn);
+        byte[] storedKey = new byte[in.readUnsignedByte()];
+        in.readFully(storedKey);
+        if (Arrays.equals(key, storedKey) == false) {
+            return false;
+        }
+        int ruleCount = in.readUnsignedShort();
+        List<ZoneRules> rulesList = new ArrayList<>(ruleCount);
+        for (int i = 0; i < ruleCount; i++) {
+            rulesList.add(deduplicate((ZoneRules) Ser.read(in)));
+        }
+        int regionCount = in.readUnsignedShort();
+        SortedMap<String, ZoneRules> readZones = new TreeMap<>();
+        for (int i = 0; i < regionCount; i++) {
+            String regionId = deduplicate(in.readUTF());
+            readZones.put(regionId, rulesList.get(in.readUnsignedShort()));
+        }
+        int leapCount = in.readUnsignedShort();
+        SortedMap<LocalDate, Byte> readLeapSeconds = new TreeMap<>();
+        for (int i = 0; i < leapCount; i++) {
+            readLeapSeconds.put(LocalDate.ofEpochDay(in.readLong()), in.readByte());
+        }
+        if (bytesIn.available() > 0) {
+            throw new StreamCorruptedException("Cache file has unexpected trailing bytes");
+        }
+        builtZones.putAll(readZones);
+        leapSeconds.putAll(readLeapSeconds);
+        return true;
+    }
+
+    /**
+     * Writes the compiled rules to the cache.
+     *
+     * @param out  the output stream, not null
+     * @param key  the cache key, not null
+     * @throws IOException if an error occurs
+     */
+    private void writeCache(DataOutputStream out, byte[] key) throws IOException {
+        out.writeByte(key.length);
+        out.write(key);
+        List<ZoneRules> rulesList = new ArrayList<>(new LinkedHashSet<>(builtZones.values()));
+        out.writeShort(rulesList.size());
+        for (ZoneRules rules : rulesList) {
+            Ser.write(rules, out);
+        }
+        Map<ZoneRules, Integer> rulesIndices = indexRules(rulesList);
+        out.writeShort(builtZones.size());
+        for (Map.Entry<String, ZoneRules> entry : builtZones.entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeShort(rulesIndices.get(entry.getValue()));
+        }
+        out.writeShort(leapSeconds.size());
+        for (Map.Entry<LocalDate, Byte> entry : leapSeconds.entrySet()) {
+            out.writeLong(entry.getKey().toEpochDay());
+            out.writeByte(entry.getValue());
+        }
+    }
+
     /**
      * Gets the parsed zone rules.
      *
@@ -497,9 +1008,9 @@ final class TzdbZoneRulesCompiler {
     /**
      * Sets the deduplication map.
      *
-     * @param deduplicateMap  the map to deduplicate items
+     * @param deduplicateMap  the map to deduplicate items, may be shared between threads
      */
-    void setDeduplicateMap(Map<Object, Object> deduplicateMap) {
+    void setDeduplicateMap(ConcurrentMap<Object, Object> deduplicateMap) {
         this.deduplicateMap = deduplicateMap;
     }
 
@@ -512,7 +1023,15 @@ final class TzdbZoneRulesCompiler {
     private void parseFiles() throws Exception {
         for (File file : sourceFiles) {
             printVerbose("Parsing file: " + file);
-            parseFile(file);
+            try (BufferedReader in = new BufferedReader(new FileReader(file))) {
+                parseFile(file.toString(), in);
+            }
+        }
+        for (Map.Entry<String, byte[]> entry : sourceData.entrySet()) {
+            printVerbose("Parsing file: " + entry.getKey());
+            try (BufferedReader in = createReader(entry.getValue())) {
+                parseFile(entry.getKey(), in);
+            }
         }
     }
 
@@ -522,38 +1041,59 @@ final class TzdbZoneRulesCompiler {
      * @throws Exception if an error occurs
      */
     private void parseLeapSecondsFile() throws Exception {
-        printVerbose("Parsing leap second file: " + leapSecondsFile);
+        if (leapSecondsFile != null) {
+            printVerbose("Parsing leap second file: " + leapSecondsFile);
+            try (BufferedReader in = new BufferedReader(new FileReader(leapSecondsFile))) {
+                parseLeapSecondsFile(leapSecondsFile.toString(), in);
+            }
+        } else if (leapSecondsData != null) {
+            printVerbose("Parsing leap second file: leapseconds");
+            try (BufferedReader in = createReader(leapSecondsData)) {
+                parseLeapSecondsFile("leapseconds", in);
+            }
+        }
+    }
+
+    /**
+     * Creates a reader for data read from an archive.
+     *
+     * @param data  the file content, not null
+     * @return the reader, not null
+     */
+    private static BufferedReader createReader(byte[] data) {
+        return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(data), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parses the leap seconds file.
+     *
+     * @param fileName  the name of the file being read, not null
+     * @param in  the reader for the file, not null
+     * @throws Exception if an error occurs
+     */
+    private void parseLeapSecondsFile(String fileName, BufferedReader in) throws Exception {
         int lineNumber = 1;
         String line = null;
-        BufferedReader in = null;
-
         try {
-            in = new BufferedReader(new FileReader(leapSecondsFile));
+            LineTokenizer st = new LineTokenizer();
             for ( ; (line = in.readLine()) != null; lineNumber++) {
-                int index = line.indexOf('#');  // remove comments (doesn't handle # in quotes)
-                if (index >= 0) {
-                    line = line.substring(0, index);
-                }
-                if (line.trim().length() == 0) {  // ignore blank lines
+                st.reset(line);
+                if (st.hasMoreTokens() == false) {  // ignore blank lines and comments
                     continue;
                 }
-                LeapSecondRule secondRule = parseLeapSecondRule(line);
+                LeapSecondRule secondRule = parseLeapSecondRule(st);
                 leapSeconds.put(secondRule.leapDate, secondRule.secondAdjustment);
             }
         } catch (Exception ex) {
-            throw new Exception("Failed while processing file '" + leapSecondsFile + "' on line " + lineNumber + " '" + line + "'", ex);
-        } finally {
-            try {
-                if (in != null) {
-                    in.close();
-                }
-            } catch (Exception ex) {
-                // ignore NPE and IOE
-            }
+            throw new Exception("Failed while processing file '" + fileName + "' on line " + lineNumber + " '" + line + "'", ex);
         }
     }
 
     private LeapSecondRule parseLeapSecondRule(String line) {
+        return parseLeapSecondRule(new LineTokenizer(line));
+    }
+
+    private LeapSecondRule parseLeapSecondRule(LineTokenizer st) {
         //    # Leap    YEAR    MONTH    DAY    HH:MM:SS    CORR    R/S
         //    Leap    1972    Jun    30    23:59:60    +    S
         //    Leap    1972    Dec    31    23:59:60    +    S
@@ -568,11 +1108,9 @@ final class TzdbZoneRulesCompiler {
         //    Leap    1982    Jun    30    23:59:60    +    S
         //    Leap    1983    Jun    30    23:59:60    +    S
 
-        StringTokenizer st = new StringTokenizer(line, " \t");
         String first = st.nextToken();
         if (first.equals("Leap")) {
             if (st.countTokens() < 6) {
-                printVerbose("Invalid leap second line in file: " + leapSecondsFile + ", line: " + line);
                 throw new IllegalArgumentException("Invalid leap second line");
             }
         } else {
@@ -611,77 +1149,63 @@ final class TzdbZoneRulesCompiler {
     /**
      * Parses a source file.
      *
-     * @param file  the file being read, not null
+     * @param fileName  the name of the file being read, not null
+     * @param in  the reader for the file, not null
      * @throws Exception if an error occurs
      */
-    private void parseFile(File file) throws Exception {
+    private void parseFile(String fileName, BufferedReader in) throws Exception {
         int lineNumber = 1;
         String line = null;
-        BufferedReader in = null;
         try {
-            in = new BufferedReader(new FileReader(file));
             List<TZDBZone> openZone = null;
+            LineTokenizer st = new LineTokenizer();
             for ( ; (line = in.readLine()) != null; lineNumber++) {
-                int index = line.indexOf('#');  // remove comments (doesn't handle # in quotes)
-                if (index >= 0) {
-                    line = line.substring(0, index);
-                }
-                if (line.trim().length() == 0) {  // ignore blank lines
+                st.reset(line);
+                if (st.hasMoreTokens() == false) {  // ignore blank lines and comments
                     continue;
                 }
-                StringTokenizer st = new StringTokenizer(line, " \t");
-                if (openZone != null && Character.isWhitespace(line.charAt(0)) && st.hasMoreTokens()) {
+                if (openZone != null && Character.isWhitespace(line.charAt(0))) {
                     if (parseZoneLine(st, openZone)) {
                         openZone = null;
                     }
                 } else {
-                    if (st.hasMoreTokens()) {
-                        String first = st.nextToken();
-                        if (first.equals("Zone")) {
-                            if (st.countTokens() < 3) {
-                                printVerbose("Invalid Zone line in file: " + file + ", line: " + line);
-                                throw new IllegalArgumentException("Invalid Zone line");
+                    String first = st.nextToken();
+                    if (first.equals("Zone")) {
+                        if (st.countTokens() < 3) {
+                            printVerbose("Invalid Zone line in file: " + fileName + ", line: " + line);
+                            throw new IllegalArgumentException("Invalid Zone line");
+                        }
+                        openZone = new ArrayList<>();
+                        zones.put(st.nextToken(), openZone);
+                        if (parseZoneLine(st, openZone)) {
+                            openZone = null;
+                        }
+                    } else {
+                        openZone = null;
+                        if (first.equals("Rule")) {
+                            if (st.countTokens() < 9) {
+                                printVerbose("Invalid Rule line in file: " + fileName + ", line: " + line);
+                                throw new IllegalArgumentException("Invalid Rule line");
                             }
-                            openZone = new ArrayList<>();
-                            zones.put(st.nextToken(), openZone);
-                            if (parseZoneLine(st, openZone)) {
-                                openZone = null;
+                            parseRuleLine(st);
+
+                        } else if (first.equals("Link")) {
+                            if (st.countTokens() < 2) {
+                                printVerbose("Invalid Link line in file: " + fileName + ", line: " + line);
+                                throw new IllegalArgumentException("Invalid Link line");
                             }
+                            String realId = st.nextToken();
+                            String aliasId = st.nextToken();
+                            links.put(aliasId, realId);
+
                         } else {
-                            openZone = null;
-                            if (first.equals("Rule")) {
-                                if (st.countTokens() < 9) {
-                                    printVerbose("Invalid Rule line in file: " + file + ", line: " + line);
-                                    throw new IllegalArgumentException("Invalid Rule line");
-                                }
-                                parseRuleLine(st);
-
-                            } else if (first.equals("Link")) {
-                                if (st.countTokens() < 2) {
-                                    printVerbose("Invalid Link line in file: " + file + ", line: " + line);
-                                    throw new IllegalArgumentException("Invalid Link line");
-                                }
-                                String realId = st.nextToken();
-                                String aliasId = st.nextToken();
-                                links.put(aliasId, realId);
-
-                            } else {
-                                throw new IllegalArgumentException("Unknown line");
-                            }
+                            throw new IllegalArgumentException("Unknown line");
                         }
                     }
                 }
             }
         } catch (Exception ex) {
-            throw new Exception("Failed while processing file '" + file + "' on line " + lineNumber + " '" + line + "'", ex);
-        } finally {
-            try {
-                if (in != null) {
-                    in.close();
-                }
-            } catch (Exception ex) {
-                // ignore NPE and IOE
-            }
+            throw new Exception("Failed while processing file '" + fileName + "' on line " + lineNumber + " '" + line + "'", ex);
         }
     }
 
@@ -690,7 +1214,7 @@ final class TzdbZoneRulesCompiler {
      *
      * @param st  the tokenizer, not null
      */
-    private void parseRuleLine(StringTokenizer st) {
+    private void parseRuleLine(LineTokenizer st) {
         TZDBRule rule = new TZDBRule();
         String name = st.nextToken();
         if (rules.containsKey(name) == false) {
@@ -714,7 +1238,7 @@ final class TzdbZoneRulesCompiler {
      * @param st  the tokenizer, not null
      * @return true if the zone is complete
      */
-    private boolean parseZoneLine(StringTokenizer st, List<TZDBZone> zoneList) {
+    private boolean parseZoneLine(LineTokenizer st, List<TZDBZone> zoneList) {
         TZDBZone zone = new TZDBZone();
         zoneList.add(zone);
         zone.standardOffset = parseOffset(st.nextToken());
@@ -749,7 +1273,7 @@ final class TzdbZoneRulesCompiler {
      * @param st  the tokenizer, not null
      * @param mdt  the object to parse into, not null
      */
-    private void parseMonthDayTime(StringTokenizer st, TZDBMonthDayTime mdt) {
+    private void parseMonthDayTime(LineTokenizer st, TZDBMonthDayTime mdt) {
         mdt.month = parseMonth(st.nextToken());
         if (st.hasMoreTokens()) {
             String dayRule = st.nextToken();
@@ -936,10 +1460,8 @@ final class TzdbZoneRulesCompiler {
      */
     @SuppressWarnings("unchecked")
     <T> T deduplicate(T object) {
-        if (deduplicateMap.containsKey(object) == false) {
-            deduplicateMap.put(object, object);
-        }
-        return (T) deduplicateMap.get(object);
+        Object existing = deduplicateMap.putIfAbsent(object, object);
+        return (T) (existing != null ? existing : object);
     }
 
     //-----------------------------------------------------------------------
@@ -1066,6 +1588,91 @@ final class TzdbZoneRulesCompiler {
         }
     }
 
+    //-----------------------------------------------------------------------
+    /**
+     * Output stream that discards the data, used to calculate a digest.
+     */
+    private static final class NullOutputStream extends OutputStream {
+        @Override
+        public void write(int b) {
+        }
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Splits a line of a TZDB file into tokens separated by spaces and tabs.
+     * <p>
+     * Anything after a '#' is a comment and is ignored (this doesn't handle # in quotes).
+     * Unlike {@code StringTokenizer}, an instance can be reset to each line in turn
+     * and only the tokens themselves are allocated.
+     */
+    static final class LineTokenizer {
+        /** The line being tokenized. */
+        private String line;
+        /** The position of the next character. */
+        private int pos;
+        /** The end of the line, excluding any comment. */
+        private int end;
+
+        LineTokenizer() {
+            reset("");
+        }
+
+        LineTokenizer(String line) {
+            reset(line);
+        }
+
+        void reset(String line) {
+            int index = line.indexOf('#');
+            this.line = line;
+            this.pos = 0;
+            this.end = (index >= 0 ? index : line.length());
+        }
+
+        boolean hasMoreTokens() {
+            skipDelimiters();
+            return pos < end;
+        }
+
+        String nextToken() {
+            skipDelimiters();
+            if (pos >= end) {
+                throw new NoSuchElementException();
+            }
+            int start = pos;
+            while (pos < end && isDelimiter(line.charAt(pos)) == false) {
+                pos++;
+            }
+            return line.substring(start, pos);
+        }
+
+        int countTokens() {
+            int count = 0;
+            boolean inToken = false;
+            for (int i = pos; i < end; i++) {
+                boolean delimiter = isDelimiter(line.charAt(i));
+                if (delimiter == false && inToken == false) {
+                    count++;
+                }
+                inToken = (delimiter == false);
+            }
+            return count;
+        }
+
+        private void skipDelimiters() {
+            while (pos < end && isDelimiter(line.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        private static boolean isDelimiter(char ch) {
+            return ch == ' ' || ch == '\t';
+        }
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Class representing a rule line in the TZDB file.
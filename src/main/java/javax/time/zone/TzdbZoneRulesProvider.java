@@ -31,49 +31,92 @@
  */
 package javax.time.zone;
 
-import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.StreamCorruptedException;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
 import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Enumeration;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.NavigableMap;
+import java.util.NavigableSet;
 import java.util.Objects;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
 import java.util.TreeMap;
-import java.util.concurrent.ConcurrentNavigableMap;
-import java.util.concurrent.ConcurrentSkipListMap;
-import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * Loads time-zone rules for 'TZDB'.
  * <p>
  * This class is public for the service loader to access.
+ * <p>
+ * By default the rules are loaded once and never change.
+ * If the system property {@code javax.time.zone.TzdbZoneRulesProvider.refresh}
+ * is set to true, the directories holding the data files, or the jar files containing
+ * them, are watched by a background thread. When they change, the data is loaded again
+ * and published by {@link ZoneRulesProvider#refresh()}. Changed data files should be
+ * replaced as a whole, such as by renaming, rather than being written in place.
  *
  * <h4>Implementation notes</h4>
- * This class is immutable and thread-safe.
+ * This class is thread-safe.
+ * The loaded data is held in an immutable snapshot that is replaced as a whole,
+ * thus lookups never block while a refresh is in progress.
  */
 public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
     // TODO: can this be private/hidden in any way?
     // service loader seems to need it to be public
 
     /**
-     * All the regions that are available.
+     * The system property that enables refreshing of the rules.
+     */
+    private static final String REFRESH_PROPERTY = "javax.time.zone.TzdbZoneRulesProvider.refresh";
+    /**
+     * The name of the data file resource.
+     */
+    private static final String DATA_RESOURCE = "javax/time/zone/TZDB.dat";
+
+    /**
+     * The class loader used to find the data files.
      */
-    private final Set<String> regionIds = new CopyOnWriteArraySet<>();
+    private final ClassLoader classLoader;
     /**
-     * All the versions that are available.
+     * Whether the rules can be refreshed.
      */
-    private final ConcurrentNavigableMap<String, Version> versions = new ConcurrentSkipListMap<>();
+    private final boolean refreshable;
     /**
-     * All the URLs that have been loaded.
-     * Uses String to avoid equals() on URL.
+     * The loaded data, replaced as a whole when refreshed.
      */
-    private Set<String> loadedUrls = new CopyOnWriteArraySet<>();
+    private volatile Snapshot snapshot;
 
     /**
      * Creates an instance.
@@ -82,8 +125,25 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
      * @throws ZoneRulesException if unable to load
      */
     public TzdbZoneRulesProvider() {
+        this(ClassLoader.getSystemClassLoader(), Boolean.getBoolean(REFRESH_PROPERTY));
+        if (refreshable) {
+            startWatcher();
+        }
+    }
+
+    /**
+     * Creates an instance loading from the specified class loader.
+     *
+     * @param classLoader  the class loader to use, not null
+     * @param refreshable  whether the rules can be refreshed
+     * @throws ZoneRulesException if unable to load
+     */
+    TzdbZoneRulesProvider(ClassLoader classLoader, boolean refreshable) {
         super();
-        if (load(ClassLoader.getSystemClassLoader()) == false) {
+        this.classLoader = classLoader;
+        this.refreshable = refreshable;
+        this.snapshot = loadSnapshot(null);
+        if (snapshot.stamps.isEmpty()) {
             throw new ZoneRulesException("No time-zone rules found for 'TZDB'");
         }
     }
@@ -91,13 +151,19 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
     //-----------------------------------------------------------------------
     @Override
     protected Set<String> provideZoneIds() {
-        return new HashSet<>(regionIds);
+        return snapshot.regionIds;
+    }
+
+    @Override
+    protected ZoneRulesProvider provideBind(String zoneId) {
+        // a bound provider would hold on to the rules after a refresh
+        return (refreshable ? this : super.provideBind(zoneId));
     }
 
     @Override
     protected ZoneRules provideRules(String zoneId) {
         Objects.requireNonNull(zoneId, "zoneId");
-        ZoneRules rules = versions.lastEntry().getValue().getRules(zoneId);
+        ZoneRules rules = snapshot.versions.lastEntry().getValue().getRules(zoneId);
         if (rules == null) {
             throw new ZoneRulesException("Unknown time-zone ID: " + zoneId);
         }
@@ -106,99 +172,345 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
 
     @Override
     protected NavigableMap<String, ZoneRules> provideVersions(String zoneId) {
-        TreeMap<String, ZoneRules> map = new TreeMap<>();
-        for (Version version : versions.values()) {
-            ZoneRules rules = version.getRules(zoneId);
-            if (rules != null) {
-                map.put(version.versionId, rules);
+        TreeMap<String, Version> versions = new TreeMap<>();
+        for (Version version : snapshot.versions.values()) {
+            if (version.findRuleIndex(zoneId) >= 0) {
+                versions.put(version.versionId, version);
             }
         }
-        return map;
+        return new VersionsMap(versions, zoneId);
+    }
+
+    @Override
+    protected boolean provideDynamic() {
+        return refreshable;
+    }
+
+    @Override
+    protected boolean provideRefresh() {
+        if (refreshable == false) {
+            return false;
+        }
+        synchronized (this) {
+            Snapshot current = snapshot;
+            Snapshot loaded = loadSnapshot(current);
+            if (loaded == current) {
+                return false;
+            }
+            snapshot = loaded;
+            return true;
+        }
     }
 
     //-------------------------------------------------------------------------
     /**
      * Loads the rules.
+     * <p>
+     * Versions and regions that were previously loaded remain available,
+     * as rules must not be removed once seen by the application.
      *
-     * @param classLoader  the class loader to use, not null
-     * @return true if updated
+     * @param previous  the previously loaded data, null if none
+     * @return the loaded data, the previous data if the data files have not changed, not null
      * @throws ZoneRulesException if unable to load
      */
-    private boolean load(ClassLoader classLoader) {
-        boolean updated = false;
+    private Snapshot loadSnapshot(Snapshot previous) {
         URL url = null;
         try {
-            Enumeration<URL> en = classLoader.getResources("javax/time/zone/TZDB.dat");
-            while (en.hasMoreElements()) {
-                url = en.nextElement();
-                if (loadedUrls.add(url.toExternalForm())) {
-                    Iterable<Version> loadedVersions = load(url);
-                    for (Version loadedVersion : loadedVersions) {
-                        if (versions.putIfAbsent(loadedVersion.versionId, loadedVersion) != null) {
-                            throw new ZoneRulesException("Data already loaded for TZDB time-zone rules version: " + loadedVersion.versionId);
-                        }
+            List<URL> urls = Collections.list(classLoader.getResources(DATA_RESOURCE));
+            Map<String, Long> stamps = new HashMap<>();
+            for (URL loopUrl : urls) {
+                // uses String to avoid equals() on URL
+                stamps.put(loopUrl.toExternalForm(), lastModified(loopUrl));
+            }
+            if (previous != null && stamps.equals(previous.stamps)) {
+                return previous;
+            }
+            TreeMap<String, Version> versions = new TreeMap<>();
+            Set<String> regionIds = new HashSet<>();
+            for (URL loopUrl : urls) {
+                url = loopUrl;
+                List<Version> loadedVersions = load(url);
+                for (Version loadedVersion : loadedVersions) {
+                    if (versions.put(loadedVersion.versionId, loadedVersion) != null) {
+                        throw new ZoneRulesException("Data already loaded for TZDB time-zone rules version: " + loadedVersion.versionId);
                     }
-                    updated = true;
+                }
+                if (loadedVersions.isEmpty() == false) {
+                    // all versions in a file share the same region array
+                    regionIds.addAll(Arrays.asList(loadedVersions.get(0).regionArray));
                 }
             }
+            if (previous != null) {
+                for (Version version : previous.versions.values()) {
+                    if (versions.containsKey(version.versionId) == false) {
+                        versions.put(version.versionId, version);
+                    }
+                }
+                regionIds.addAll(previous.regionIds);
+            }
+            return new Snapshot(stamps, versions, regionIds);
         } catch (Exception ex) {
             throw new ZoneRulesException("Unable to load TZDB time-zone rules: " + url, ex);
         }
-        return updated;
     }
 
     /**
      * Loads the rules from a URL, often in a jar file.
      *
      * @param url  the jar file to load, not null
-     * @throws Exception if an error occurs
+     * @return the loaded versions, not null
+     * @throws IOException if an error occurs
+     */
+    private List<Version> load(URL url) throws IOException {
+        return load(readData(url, refreshable == false));
+    }
+
+    /**
+     * Loads the rules from a buffer, in either format version 1 or 2.
+     * <p>
+     * The region and version index is read eagerly, but the rules themselves
+     * are left in the buffer and only decoded when first requested.
+     *
+     * @param buf  the buffer positioned at the start of the data, not null
+     * @return the loaded versions, not null
+     * @throws IOException if an error occurs
      */
-    private Iterable<Version> load(URL url) throws ClassNotFoundException, IOException {
-        try (InputStream in = url.openStream()) {
-            DataInputStream dis = new DataInputStream(in);
-            if (dis.readByte() != 1) {
-                throw new StreamCorruptedException("File format not recognised");
+    static List<Version> load(ByteBuffer buf) throws IOException {
+        DataInputStream dis = new DataInputStream(new ByteBufferInputStream(buf));
+        int format = dis.readByte();
+        if (format != 1 && format != 2) {
+            throw new StreamCorruptedException("File format not recognised");
+        }
+        // group
+        String groupId = dis.readUTF();
+        if ("TZDB".equals(groupId) == false) {
+            throw new StreamCorruptedException("File format not recognised");
+        }
+        return (format == 1 ? load1(buf, dis) : load2(buf, dis));
+    }
+
+    /**
+     * Loads format version 1, where the data must be read sequentially.
+     */
+    private static List<Version> load1(ByteBuffer buf, DataInputStream dis) throws IOException {
+        // versions
+        int versionCount = dis.readShort();
+        String[] versionArray = new String[versionCount];
+        for (int i = 0; i < versionCount; i++) {
+            versionArray[i] = dis.readUTF();
+        }
+        // regions
+        int regionCount = dis.readShort();
+        String[] regionArray = new String[regionCount];
+        for (int i = 0; i < regionCount; i++) {
+            regionArray[i] = dis.readUTF();
+        }
+        // rules, recorded as positions in the buffer
+        int ruleCount = dis.readShort();
+        int[] ruleStarts = new int[ruleCount];
+        int[] ruleEnds = new int[ruleCount];
+        for (int i = 0; i < ruleCount; i++) {
+            int length = dis.readShort();
+            ruleStarts[i] = buf.position();
+            ruleEnds[i] = ruleStarts[i] + length;
+            buf.position(ruleEnds[i]);
+        }
+        RuleData ruleData = new RuleData(buf, 0, IntBuffer.wrap(ruleStarts), IntBuffer.wrap(ruleEnds));
+        // link version-region-rules
+        List<Version> versionList = new ArrayList<>(versionCount);
+        for (int i = 0; i < versionCount; i++) {
+            short[] ruleIndices = new short[regionCount];
+            Arrays.fill(ruleIndices, (short) -1);
+            int versionRegionCount = dis.readShort();
+            for (int j = 0; j < versionRegionCount; j++) {
+                short regionIndex = dis.readShort();
+                ruleIndices[regionIndex] = dis.readShort();
             }
-            // group
-            String groupId = dis.readUTF();
-            if ("TZDB".equals(groupId) == false) {
-                throw new StreamCorruptedException("File format not recognised");
+            versionList.add(new Version(versionArray[i], regionArray, ShortBuffer.wrap(ruleIndices), ruleData));
+        }
+        return versionList;
+    }
+
+    /**
+     * Loads format version 2, where only the region IDs are decoded.
+     * The rule indices and offsets are fixed-width views of the buffer.
+     */
+    private static List<Version> load2(ByteBuffer buf, DataInputStream dis) throws IOException {
+        int versionCount = dis.readShort();
+        int regionCount = dis.readShort();
+        int ruleCount = dis.readShort();
+        // versions
+        String[] versionArray = new String[versionCount];
+        for (int i = 0; i < versionCount; i++) {
+            versionArray[i] = dis.readUTF();
+        }
+        // regions, sharing the prefix of the previous region
+        String[] regionArray = new String[regionCount];
+        String previous = "";
+        for (int i = 0; i < regionCount; i++) {
+            int shared = dis.readUnsignedByte();
+            if (shared > previous.length()) {
+                throw new StreamCorruptedException("Invalid region ID prefix");
             }
-            // versions
-            int versionCount = dis.readShort();
-            String[] versionArray = new String[versionCount];
-            for (int i = 0; i < versionCount; i++) {
-                versionArray[i] = dis.readUTF();
+            previous = previous.substring(0, shared) + dis.readUTF();
+            regionArray[i] = previous;
+        }
+        // rule offsets, with one extra entry for the end of the last rule
+        int offsetsStart = buf.position();
+        IntBuffer ruleStarts = slice(buf, offsetsStart, ruleCount * 4).asIntBuffer();
+        IntBuffer ruleEnds = slice(buf, offsetsStart + 4, ruleCount * 4).asIntBuffer();
+        int indexStart = offsetsStart + (ruleCount + 1) * 4;
+        int rulesStart = indexStart + versionCount * regionCount * 2;
+        if (rulesStart > buf.limit()) {
+            throw new StreamCorruptedException("File truncated");
+        }
+        RuleData ruleData = new RuleData(buf, rulesStart, ruleStarts, ruleEnds);
+        // link version-region-rules
+        List<Version> versionList = new ArrayList<>(versionCount);
+        for (int i = 0; i < versionCount; i++) {
+            ShortBuffer ruleIndices = slice(buf, indexStart + i * regionCount * 2, regionCount * 2).asShortBuffer();
+            versionList.add(new Version(versionArray[i], regionArray, ruleIndices, ruleData));
+        }
+        return versionList;
+    }
+
+    /**
+     * Obtains an independent view of part of the buffer.
+     */
+    private static ByteBuffer slice(ByteBuffer buf, int position, int length) {
+        ByteBuffer view = buf.duplicate();
+        view.limit(position + length);
+        view.position(position);
+        return view.slice();
+    }
+
+    /**
+     * Reads the data at the URL into a buffer.
+     * <p>
+     * A URL referring to a file is memory-mapped if requested, so the data is
+     * paged in by the operating system as the rules are used. Otherwise the data,
+     * such as a jar entry, is read fully into a single heap buffer.
+     * Data that can be refreshed is never mapped, as the file could be changed in place.
+     *
+     * @param url  the URL to read, not null
+     * @param shared  whether to map files and use cached jar files
+     * @return the buffer positioned at the start of the data, not null
+     * @throws IOException if an error occurs
+     */
+    private static ByteBuffer readData(URL url, boolean shared) throws IOException {
+        if (shared && "file".equals(url.getProtocol())) {
+            try (FileChannel channel = FileChannel.open(Paths.get(url.toURI()), StandardOpenOption.READ)) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            } catch (URISyntaxException | IllegalArgumentException ex) {
+                // not a plain file path, fall back to reading the stream
+            }
+        }
+        URLConnection connection = url.openConnection();
+        connection.setUseCaches(shared);
+        int length = connection.getContentLength();
+        try (InputStream in = connection.getInputStream()) {
+            if (length >= 0) {
+                byte[] bytes = new byte[length];
+                new DataInputStream(in).readFully(bytes);
+                return ByteBuffer.wrap(bytes);
+            }
+            ByteArrayOutputStream baos = new ByteArrayOutputStream(8192);
+            byte[] bytes = new byte[8192];
+            int read;
+            while ((read = in.read(bytes)) >= 0) {
+                baos.write(bytes, 0, read);
+            }
+            return ByteBuffer.wrap(baos.toByteArray());
+        }
+    }
+
+    /**
+     * Finds the local file holding the data at the URL.
+     *
+     * @param url  the URL of the data, not null
+     * @return the data file or the jar file containing it, null if not a local file
+     * @throws IOException if an error occurs
+     */
+    private static Path toPath(URL url) throws IOException {
+        try {
+            if ("jar".equals(url.getProtocol())) {
+                URLConnection connection = url.openConnection();
+                if (connection instanceof JarURLConnection == false) {
+                    return null;
+                }
+                url = ((JarURLConnection) connection).getJarFileURL();
             }
-            // regions
-            int regionCount = dis.readShort();
-            String[] regionArray = new String[regionCount];
-            for (int i = 0; i < regionCount; i++) {
-                regionArray[i] = dis.readUTF();
+            if ("file".equals(url.getProtocol())) {
+                return Paths.get(url.toURI());
             }
-            regionIds.addAll(Arrays.asList(regionArray));
-            // rules
-            int ruleCount = dis.readShort();
-            Object[] ruleArray = new Object[ruleCount];
-            for (int i = 0; i < ruleCount; i++) {
-                byte[] bytes = new byte[dis.readShort()];
-                dis.readFully(bytes);
-                ruleArray[i] = bytes;
+        } catch (URISyntaxException | IllegalArgumentException ex) {
+            // not a plain file path
+        }
+        return null;
+    }
+
+    /**
+     * Gets the last modified time of the data at the URL.
+     *
+     * @param url  the URL of the data, not null
+     * @return the last modified time of the local file, zero if not a local file
+     * @throws IOException if an error occurs
+     */
+    private static long lastModified(URL url) throws IOException {
+        Path path = toPath(url);
+        return (path != null ? Files.getLastModifiedTime(path).toMillis() : 0);
+    }
+
+    //-------------------------------------------------------------------------
+    /**
+     * Starts the background thread that refreshes the rules when the data files change.
+     *
+     * @throws ZoneRulesException if unable to watch the data files
+     */
+    private void startWatcher() {
+        try {
+            final WatchService watcher = FileSystems.getDefault().newWatchService();
+            Set<Path> dirs = new HashSet<>();
+            for (URL url : Collections.list(classLoader.getResources(DATA_RESOURCE))) {
+                Path path = toPath(url);
+                if (path != null && path.getParent() != null && dirs.add(path.getParent())) {
+                    path.getParent().register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+                }
             }
-            AtomicReferenceArray<Object> ruleData = new AtomicReferenceArray<>(ruleArray);
-            // link version-region-rules
-            Set<Version> versionSet = new HashSet<Version>(versionCount);
-            for (int i = 0; i < versionCount; i++) {
-                int versionRegionCount = dis.readShort();
-                String[] versionRegionArray = new String[versionRegionCount];
-                short[] versionRulesArray = new short[versionRegionCount];
-                for (int j = 0; j < versionRegionCount; j++) {
-                    versionRegionArray[j] = regionArray[dis.readShort()];
-                    versionRulesArray[j] = dis.readShort();
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    watch(watcher);
                 }
-                versionSet.add(new Version(versionArray[i], versionRegionArray, versionRulesArray, ruleData));
+            }, "TZDB-refresh");
+            thread.setDaemon(true);
+            thread.start();
+        } catch (IOException ex) {
+            throw new ZoneRulesException("Unable to watch TZDB time-zone rules", ex);
+        }
+    }
+
+    /**
+     * Waits for changes to the watched directories, refreshing the rules on each change.
+     * The refresh only swaps in new data if the data files have changed.
+     *
+     * @param watcher  the watch service, not null
+     */
+    private static void watch(WatchService watcher) {
+        while (true) {
+            WatchKey key;
+            try {
+                key = watcher.take();
+            } catch (InterruptedException | ClosedWatchServiceException ex) {
+                return;
+            }
+            key.pollEvents();
+            key.reset();
+            try {
+                ZoneRulesProvider.refresh();
+            } catch (RuntimeException ex) {
+                // keep the current rules, a partially replaced file is retried on the next change
             }
-            return versionSet;
         }
     }
 
@@ -207,6 +519,22 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
         return "TZDB";
     }
 
+    //-----------------------------------------------------------------------
+    /**
+     * The immutable set of data loaded from the data files.
+     */
+    static final class Snapshot {
+        private final Map<String, Long> stamps;
+        private final NavigableMap<String, Version> versions;
+        private final Set<String> regionIds;
+
+        Snapshot(Map<String, Long> stamps, NavigableMap<String, Version> versions, Set<String> regionIds) {
+            this.stamps = stamps;
+            this.versions = versions;
+            this.regionIds = Collections.unmodifiableSet(regionIds);
+        }
+    }
+
     //-----------------------------------------------------------------------
     /**
      * A version of the TZDB rules.
@@ -214,42 +542,414 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
     static class Version {
         private final String versionId;
         private final String[] regionArray;
-        private final short[] ruleIndices;
-        private final AtomicReferenceArray<Object> ruleData;
+        private final ShortBuffer ruleIndices;
+        private final RuleData ruleData;
 
-        Version(String versionId, String[] regionIds, short[] ruleIndices, AtomicReferenceArray<Object> ruleData) {
+        Version(String versionId, String[] regionArray, ShortBuffer ruleIndices, RuleData ruleData) {
             this.ruleData = ruleData;
             this.versionId = versionId;
-            this.regionArray = regionIds;
+            this.regionArray = regionArray;
             this.ruleIndices = ruleIndices;
         }
 
-        ZoneRules getRules(String regionId) {
+        int findRuleIndex(String regionId) {
             int regionIndex = Arrays.binarySearch(regionArray, regionId);
-            if (regionIndex < 0) {
+            return (regionIndex < 0 ? -1 : ruleIndices.get(regionIndex));
+        }
+
+        ZoneRules getRules(String regionId) {
+            int ruleIndex = findRuleIndex(regionId);
+            if (ruleIndex < 0) {
                 return null;
             }
             try {
-                return createRule(ruleIndices[regionIndex]);
+                return ruleData.getRules(ruleIndex);
             } catch (Exception ex) {
                 throw new ZoneRulesException("Invalid binary time-zone data: TZDB:" + regionId + ", version: " + versionId, ex);
             }
         }
 
-        ZoneRules createRule(short index) throws Exception {
-            Object obj = ruleData.get(index);
-            if (obj instanceof byte[]) {
-                byte[] bytes = (byte[]) obj;
-                DataInputStream dis = new DataInputStream(new ByteArrayInputStream(bytes));
-                obj = Ser.read(dis);
-                ruleData.set(index, obj);
+        @Override
+        public String toString() {
+            return versionId;
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * An unmodifiable view of the versions of the rules for a single region.
+     * <p>
+     * The rules of each version are only decoded when the value is accessed,
+     * thus navigating the keys or querying a few versions does not decode the whole file.
+     */
+    static final class VersionsMap extends AbstractMap<String, ZoneRules> implements NavigableMap<String, ZoneRules> {
+        private final NavigableMap<String, Version> versions;
+        private final String regionId;
+
+        VersionsMap(NavigableMap<String, Version> versions, String regionId) {
+            this.versions = versions;
+            this.regionId = regionId;
+        }
+
+        private Entry<String, ZoneRules> entry(Entry<String, Version> entry) {
+            if (entry == null) {
+                return null;
             }
-            return (ZoneRules) obj;
+            return new SimpleImmutableEntry<>(entry.getKey(), entry.getValue().getRules(regionId));
         }
 
         @Override
-        public String toString() {
-            return versionId;
+        public int size() {
+            return versions.size();
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return versions.containsKey(key);
+        }
+
+        @Override
+        public ZoneRules get(Object key) {
+            Version version = versions.get(key);
+            return (version != null ? version.getRules(regionId) : null);
+        }
+
+        @Override
+        public Set<Entry<String, ZoneRules>> entrySet() {
+            return new AbstractSet<Entry<String, ZoneRules>>() {
+                @Override
+                public int size() {
+                    return versions.size();
+                }
+                @Override
+                public Iterator<Entry<String, ZoneRules>> iterator() {
+                    final Iterator<Entry<String, Version>> it = versions.entrySet().iterator();
+                    return new Iterator<Entry<String, ZoneRules>>() {
+                        @Override
+                        public boolean hasNext() {
+                            return it.hasNext();
+                        }
+                        @Override
+                        public Entry<String, ZoneRules> next() {
+                            return entry(it.next());
+                        }
+                        @Override
+                        public void remove() {
+                            throw new UnsupportedOperationException();
+                        }
+                    };
+                }
+            };
+        }
+
+        @Override
+        public Set<String> keySet() {
+            return navigableKeySet();
+        }
+
+        @Override
+        public Comparator<? super String> comparator() {
+            return versions.comparator();
+        }
+
+        @Override
+        public String firstKey() {
+            return versions.firstKey();
+        }
+
+        @Override
+        public String lastKey() {
+            return versions.lastKey();
+        }
+
+        @Override
+        public Entry<String, ZoneRules> firstEntry() {
+            return entry(versions.firstEntry());
+        }
+
+        @Override
+        public Entry<String, ZoneRules> lastEntry() {
+            return entry(versions.lastEntry());
+        }
+
+        @Override
+        public Entry<String, ZoneRules> pollFirstEntry() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Entry<String, ZoneRules> pollLastEntry() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Entry<String, ZoneRules> lowerEntry(String key) {
+            return entry(versions.lowerEntry(key));
+        }
+
+        @Override
+        public String lowerKey(String key) {
+            return versions.lowerKey(key);
+        }
+
+        @Override
+        public Entry<String, ZoneRules> floorEntry(String key) {
+            return entry(versions.floorEntry(key));
+        }
+
+        @Override
+        public String floorKey(String key) {
+            return versions.floorKey(key);
+        }
+
+        @Override
+        public Entry<String, ZoneRules> ceilingEntry(String key) {
+            return entry(versions.ceilingEntry(key));
+        }
+
+        @Override
+        public String ceilingKey(String key) {
+            return versions.ceilingKey(key);
+        }
+
+        @Override
+        public Entry<String, ZoneRules> higherEntry(String key) {
+            return entry(versions.higherEntry(key));
+        }
+
+        @Override
+        public String higherKey(String key) {
+            return versions.higherKey(key);
+        }
+
+        @Override
+        public NavigableMap<String, ZoneRules> descendingMap() {
+            return new VersionsMap(versions.descendingMap(), regionId);
+        }
+
+        @Override
+        public NavigableSet<String> navigableKeySet() {
+            return new VersionsKeySet(versions.navigableKeySet());
+        }
+
+        @Override
+        public NavigableSet<String> descendingKeySet() {
+            return new VersionsKeySet(versions.descendingKeySet());
+        }
+
+        @Override
+        public NavigableMap<String, ZoneRules> subMap(String fromKey, boolean fromInclusive, String toKey, boolean toInclusive) {
+            return new VersionsMap(versions.subMap(fromKey, fromInclusive, toKey, toInclusive), regionId);
+        }
+
+        @Override
+        public NavigableMap<String, ZoneRules> headMap(String toKey, boolean inclusive) {
+            return new VersionsMap(versions.headMap(toKey, inclusive), regionId);
+        }
+
+        @Override
+        public NavigableMap<String, ZoneRules> tailMap(String fromKey, boolean inclusive) {
+            return new VersionsMap(versions.tailMap(fromKey, inclusive), regionId);
+        }
+
+        @Override
+        public SortedMap<String, ZoneRules> subMap(String fromKey, String toKey) {
+            return subMap(fromKey, true, toKey, false);
+        }
+
+        @Override
+        public SortedMap<String, ZoneRules> headMap(String toKey) {
+            return headMap(toKey, false);
+        }
+
+        @Override
+        public SortedMap<String, ZoneRules> tailMap(String fromKey) {
+            return tailMap(fromKey, true);
+        }
+    }
+
+    /**
+     * An unmodifiable view of the version keys.
+     */
+    static final class VersionsKeySet extends AbstractSet<String> implements NavigableSet<String> {
+        private final NavigableSet<String> keys;
+
+        VersionsKeySet(NavigableSet<String> keys) {
+            this.keys = keys;
+        }
+
+        @Override
+        public int size() {
+            return keys.size();
+        }
+
+        @Override
+        public boolean contains(Object key) {
+            return keys.contains(key);
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+            return Collections.unmodifiableCollection(keys).iterator();
+        }
+
+        @Override
+        public Iterator<String> descendingIterator() {
+            return descendingSet().iterator();
+        }
+
+        @Override
+        public Comparator<? super String> comparator() {
+            return keys.comparator();
+        }
+
+        @Override
+        public String first() {
+            return keys.first();
+        }
+
+        @Override
+        public String last() {
+            return keys.last();
+        }
+
+        @Override
+        public String lower(String key) {
+            return keys.lower(key);
+        }
+
+        @Override
+        public String floor(String key) {
+            return keys.floor(key);
+        }
+
+        @Override
+        public String ceiling(String key) {
+            return keys.ceiling(key);
+        }
+
+        @Override
+        public String higher(String key) {
+            return keys.higher(key);
+        }
+
+        @Override
+        public String pollFirst() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String pollLast() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public NavigableSet<String> descendingSet() {
+            return new VersionsKeySet(keys.descendingSet());
+        }
+
+        @Override
+        public NavigableSet<String> subSet(String fromKey, boolean fromInclusive, String toKey, boolean toInclusive) {
+            return new VersionsKeySet(keys.subSet(fromKey, fromInclusive, toKey, toInclusive));
+        }
+
+        @Override
+        public NavigableSet<String> headSet(String toKey, boolean inclusive) {
+            return new VersionsKeySet(keys.headSet(toKey, inclusive));
+        }
+
+        @Override
+        public NavigableSet<String> tailSet(String fromKey, boolean inclusive) {
+            return new VersionsKeySet(keys.tailSet(fromKey, inclusive));
+        }
+
+        @Override
+        public SortedSet<String> subSet(String fromKey, String toKey) {
+            return subSet(fromKey, true, toKey, false);
+        }
+
+        @Override
+        public SortedSet<String> headSet(String toKey) {
+            return headSet(toKey, false);
+        }
+
+        @Override
+        public SortedSet<String> tailSet(String fromKey) {
+            return tailSet(fromKey, true);
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * The rules of a single data file, decoded from the buffer on demand.
+     * <p>
+     * The buffers are not modified once loading is complete, so each decode
+     * works on its own view of the data.
+     */
+    static final class RuleData {
+        private final ByteBuffer buffer;
+        private final int base;
+        private final IntBuffer starts;
+        private final IntBuffer ends;
+        private final AtomicReferenceArray<ZoneRules> rules;
+        /** The offsets and transition rules shared between the decoded rules. */
+        private final ConcurrentMap<Object, Object> deduplicateMap = new ConcurrentHashMap<>();
+
+        RuleData(ByteBuffer buffer, int base, IntBuffer starts, IntBuffer ends) {
+            this.buffer = buffer;
+            this.base = base;
+            this.starts = starts;
+            this.ends = ends;
+            this.rules = new AtomicReferenceArray<>(starts.limit());
+        }
+
+        ZoneRules getRules(int index) throws Exception {
+            ZoneRules obj = rules.get(index);
+            if (obj == null) {
+                ByteBuffer view = buffer.duplicate();
+                view.limit(base + ends.get(index));
+                view.position(base + starts.get(index));
+                obj = (ZoneRules) Ser.read(new DataInputStream(new ByteBufferInputStream(view)), deduplicateMap);
+                if (rules.compareAndSet(index, null, obj) == false) {
+                    obj = rules.get(index);
+                }
+            }
+            return obj;
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * An input stream reading from a buffer, advancing its position.
+     */
+    static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (buffer.hasRemaining() == false) {
+                return -1;
+            }
+            len = Math.min(len, buffer.remaining());
+            buffer.get(bytes, off, len);
+            return len;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
         }
     }
 
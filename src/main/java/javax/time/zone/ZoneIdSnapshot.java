@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2012, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package javax.time.zone;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * An immutable snapshot of the zone IDs registered with {@link ZoneRulesProvider}.
+ * <p>
+ * Zone IDs are only ever added, never removed. Each time the set of registered IDs
+ * changes a new snapshot is created with a higher generation. A caller can retain
+ * a snapshot, together with any state derived from it, and cheaply check whether
+ * that state is out of date by comparing generations with the current snapshot.
+ *
+ * <h4>Implementation notes</h4>
+ * This class is immutable and thread-safe.
+ */
+public final class ZoneIdSnapshot {
+
+    /**
+     * The generation, increasing each time the registered IDs change.
+     */
+    private final long generation;
+    /**
+     * The unmodifiable set of zone IDs.
+     */
+    private final Set<String> zoneIds;
+
+    /**
+     * Creates an instance.
+     *
+     * @param generation  the generation
+     * @param zoneIds  the zone IDs to copy, not null
+     */
+    ZoneIdSnapshot(long generation, Collection<String> zoneIds) {
+        this.generation = generation;
+        this.zoneIds = Collections.unmodifiableSet(new HashSet<>(zoneIds));
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the generation of this snapshot.
+     * <p>
+     * A snapshot with a higher generation was taken after more zone IDs were registered.
+     * Two snapshots with the same generation contain the same zone IDs.
+     *
+     * @return the generation
+     */
+    public long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Gets the zone IDs in this snapshot.
+     *
+     * @return the unmodifiable set of zone IDs, not null
+     */
+    public Set<String> getZoneIds() {
+        return zoneIds;
+    }
+
+    /**
+     * Checks if this snapshot contains the specified zone ID.
+     *
+     * @param zoneId  the zone ID to check, null returns false
+     * @return true if the zone ID is in this snapshot
+     */
+    public boolean contains(String zoneId) {
+        return zoneId != null && zoneIds.contains(zoneId);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Outputs this snapshot as a {@code String}.
+     *
+     * @return a string representation of this snapshot, not null
+     */
+    @Override
+    public String toString() {
+        return "ZoneIdSnapshot[generation=" + generation + ", size=" + zoneIds.size() + "]";
+    }
+
+}
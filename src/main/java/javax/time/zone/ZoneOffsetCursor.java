@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2012, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package javax.time.zone;
+
+import java.util.Objects;
+
+import javax.time.Instant;
+import javax.time.ZoneOffset;
+
+/**
+ * A cursor for finding the offsets of a stream of instants that are mostly increasing.
+ * <p>
+ * Looking up the offset of each instant in a stream using {@link ZoneRules#getOffset(long)}
+ * searches the rules every time. This cursor instead remembers the window of epoch-seconds
+ * between two transitions that the last instant was in, and the offset for that window.
+ * While the instants stay within the window, the offset is returned without searching.
+ * When an instant is outside the window, the rules are searched again, both for the
+ * historic transitions and for those defined by the transition rules.
+ * <p>
+ * Instants may be in any order, but the cursor is most efficient when successive
+ * instants are usually within the same window, such as when they mostly increase.
+ *
+ * <h4>Implementation notes</h4>
+ * This class is mutable and not thread-safe.
+ * A separate cursor should be used for each stream of instants.
+ */
+public final class ZoneOffsetCursor {
+
+    /**
+     * The rules.
+     */
+    private final ZoneRules rules;
+    /**
+     * The first epoch-second that the offset applies to, inclusive.
+     */
+    private long windowStart = 0;
+    /**
+     * The last epoch-second that the offset applies to, exclusive.
+     * This is initially less than the start, so that the first use searches the rules.
+     */
+    private long windowEnd = -1;
+    /**
+     * The offset within the window.
+     */
+    private ZoneOffset offset;
+
+    /**
+     * Obtains a cursor for the specified rules.
+     *
+     * @param rules  the rules to find offsets in, not null
+     * @return the cursor, not null
+     */
+    public static ZoneOffsetCursor of(ZoneRules rules) {
+        Objects.requireNonNull(rules, "rules");
+        return new ZoneOffsetCursor(rules);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param rules  the rules to find offsets in, not null
+     */
+    private ZoneOffsetCursor(ZoneRules rules) {
+        this.rules = rules;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the rules that the cursor finds offsets in.
+     *
+     * @return the rules, not null
+     */
+    public ZoneRules getRules() {
+        return rules;
+    }
+
+    /**
+     * Gets the offset applicable at the specified instant.
+     * <p>
+     * This is equivalent to {@link ZoneRules#getOffset(Instant)}.
+     *
+     * @param instant  the instant to find the offset for, not null
+     * @return the offset, not null
+     */
+    public ZoneOffset getOffset(Instant instant) {
+        return getOffset(instant.getEpochSecond());
+    }
+
+    /**
+     * Gets the offset applicable at the specified epoch-second.
+     * <p>
+     * This is equivalent to {@link ZoneRules#getOffset(long)}.
+     * If the epoch-second is within the same window between transitions as the
+     * previous call, the offset is returned without searching the rules.
+     *
+     * @param epochSecond  the number of seconds from the epoch of 1970-01-01T00:00:00Z
+     * @return the offset, not null
+     */
+    public ZoneOffset getOffset(long epochSecond) {
+        if (epochSecond >= windowStart && epochSecond < windowEnd) {
+            return offset;
+        }
+        return seek(epochSecond);
+    }
+
+    /**
+     * Searches the rules for the window containing the epoch-second.
+     * <p>
+     * The window runs from the last transition at or before the epoch-second to the
+     * next transition after it, so that any epoch-second within it, including one
+     * earlier than those already seen, is answered without searching.
+     *
+     * @param epochSecond  the epoch-second to find the window for
+     * @return the offset, not null
+     */
+    private ZoneOffset seek(long epochSecond) {
+        ZoneOffset found = rules.getOffset(epochSecond);
+        if (rules.isFixedOffset()) {
+            windowStart = Long.MIN_VALUE;
+            windowEnd = Long.MAX_VALUE;
+        } else {
+            // the previous transition is strictly before the instant, so add a nanosecond
+            ZoneOffsetTransition previous = rules.previousTransition(Instant.ofEpochSecond(epochSecond, 1));
+            ZoneOffsetTransition next = rules.nextTransition(Instant.ofEpochSecond(epochSecond));
+            windowStart = (previous != null ? previous.toEpochSecond() : Long.MIN_VALUE);
+            windowEnd = (next != null ? next.toEpochSecond() : Long.MAX_VALUE);
+        }
+        offset = found;
+        return found;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Outputs the cursor as a {@code String}.
+     *
+     * @return a string for debugging, not null
+     */
+    @Override
+    public String toString() {
+        return "ZoneOffsetCursor[" + rules + "]";
+    }
+
+}
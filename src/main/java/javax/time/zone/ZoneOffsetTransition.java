@@ -74,6 +74,10 @@ public final class ZoneOffsetTransition
      * The local transition date-time at the transition.
      */
     private final LocalDateTime transition;
+    /**
+     * The transition epoch-second.
+     */
+    private final long epochSecond;
     /**
      * The offset before transition.
      */
@@ -117,6 +121,7 @@ public final class ZoneOffsetTransition
      */
     ZoneOffsetTransition(LocalDateTime transition, ZoneOffset offsetBefore, ZoneOffset offsetAfter) {
         this.transition = transition;
+        this.epochSecond = transition.toEpochSecond(offsetBefore);
         this.offsetBefore = offsetBefore;
         this.offsetAfter = offsetAfter;
     }
@@ -130,6 +135,7 @@ public final class ZoneOffsetTransition
      */
     ZoneOffsetTransition(long epochSecond, ZoneOffset offsetBefore, ZoneOffset offsetAfter) {
         this.transition = LocalDateTime.ofEpochSecond(epochSecond, 0, offsetBefore);
+        this.epochSecond = epochSecond;
         this.offsetBefore = offsetBefore;
         this.offsetAfter = offsetAfter;
     }
@@ -195,7 +201,33 @@ public final class ZoneOffsetTransition
      * @return the transition epoch second
      */
     long toEpochSecond() {
-        return transition.toEpochSecond(offsetBefore);
+        return epochSecond;
+    }
+
+    /**
+     * Gets the local transition date-time, as would be expressed with the 'before' offset,
+     * as a local epoch second.
+     * <p>
+     * This is the number of seconds from 1970-01-01T00:00 in the local time-line,
+     * equivalent to {@code getDateTimeBefore().toEpochSecond(ZoneOffset.UTC)}.
+     *
+     * @return the local epoch second of the transition with the before offset
+     */
+    long toLocalEpochSecondBefore() {
+        return epochSecond + offsetBefore.getTotalSeconds();
+    }
+
+    /**
+     * Gets the local transition date-time, as would be expressed with the 'after' offset,
+     * as a local epoch second.
+     * <p>
+     * This is the number of seconds from 1970-01-01T00:00 in the local time-line,
+     * equivalent to {@code getDateTimeAfter().toEpochSecond(ZoneOffset.UTC)}.
+     *
+     * @return the local epoch second of the transition with the after offset
+     */
+    long toLocalEpochSecondAfter() {
+        return epochSecond + offsetAfter.getTotalSeconds();
     }
 
     //-------------------------------------------------------------------------
@@ -31,6 +31,7 @@
  */
 package javax.time.zone;
 
+import java.util.Iterator;
 import java.util.List;
 
 import javax.time.Duration;
@@ -87,6 +88,18 @@ public interface ZoneRules {
      */
     ZoneOffset getOffset(Instant instant);
 
+    /**
+     * Gets the offset applicable at the specified epoch-second in these rules.
+     * <p>
+     * This is equivalent to {@link #getOffset(Instant)} but operates directly
+     * on the number of seconds from the epoch, avoiding the need to create an
+     * {@code Instant} when only the epoch-second is available.
+     *
+     * @param epochSecond  the number of seconds from the epoch of 1970-01-01T00:00:00Z
+     * @return the offset, not null
+     */
+    ZoneOffset getOffset(long epochSecond);
+
     /**
      * Gets a suitable offset for the specified local date-time in these rules.
      * <p>
@@ -161,6 +174,30 @@ public interface ZoneRules {
      */
     List<ZoneOffset> getValidOffsets(LocalDateTime localDateTime);
 
+    /**
+     * Gets the single valid offset for the specified local date-time in these rules,
+     * returning null if the local date-time is in a gap or overlap.
+     * <p>
+     * This is the allocation-free form of {@link #getValidOffsets(LocalDateTime)}
+     * for the Normal case, where there is exactly one valid offset.
+     * If there are zero or two valid offsets then null is returned, and
+     * {@link #getTransition(LocalDateTime)} describes the gap or overlap.
+     * <p>
+     * One technique, using this method, would be:
+     * <pre>
+     *  ZoneOffset offset = rules.getValidOffset(localDT);
+     *  if (offset == null) {
+     *    // Gap or Overlap: determine what to do from transition (which will be non-null)
+     *    ZoneOffsetTransition trans = rules.getTransition(localDT);
+     *  }
+     * </pre>
+     *
+     * @param localDateTime  the local date-time to query for the valid offset, not null, but null
+     *  may be ignored if the rules have a single offset for all instants
+     * @return the single valid offset, null if the local date-time is in a gap or overlap
+     */
+    ZoneOffset getValidOffset(LocalDateTime localDateTime);
+
     /**
      * Gets the offset transition applicable at the specified local date-time in these rules.
      * <p>
@@ -197,6 +234,51 @@ public interface ZoneRules {
      */
     ZoneOffsetTransition getTransition(LocalDateTime localDateTime);
 
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the offsets applicable at each of the specified epoch-seconds in these rules.
+     * <p>
+     * This is the bulk equivalent of {@link #getOffset(long)}, storing the total
+     * offset in seconds for {@code epochSeconds[i]} in {@code offsetSecondsOut[i]}
+     * for each index from {@code fromIndex}, inclusive, to {@code toIndex}, exclusive.
+     * No objects are created for each element, and where the epoch-seconds are
+     * in ascending order the rules are searched incrementally rather than once
+     * for each element.
+     * <p>
+     * See {@link ZoneRulesBatch} to process large arrays in parallel.
+     *
+     * @param epochSeconds  the epoch-seconds to find the offsets for, not null
+     * @param fromIndex  the first index to process, inclusive
+     * @param toIndex  the last index to process, exclusive
+     * @param offsetSecondsOut  the array to store the total offset seconds in, not null
+     * @throws IndexOutOfBoundsException if the range is invalid for either array
+     */
+    void getOffsets(long[] epochSeconds, int fromIndex, int toIndex, int[] offsetSecondsOut);
+
+    /**
+     * Gets a suitable offset for each of the specified local epoch-seconds in these rules.
+     * <p>
+     * This is the bulk equivalent of {@link #getOffset(LocalDateTime)}, where each
+     * local date-time is expressed as the number of seconds from 1970-01-01T00:00
+     * on the local time-line, as returned by {@code localDateTime.toEpochSecond(ZoneOffset.UTC)}.
+     * The total offset in seconds for {@code localEpochSeconds[i]} is stored in
+     * {@code offsetSecondsOut[i]} for each index from {@code fromIndex}, inclusive,
+     * to {@code toIndex}, exclusive. As with {@code getOffset(LocalDateTime)},
+     * the offset before the transition is used in a gap or overlap.
+     * No objects are created for each element, and where the local epoch-seconds are
+     * in ascending order the rules are searched incrementally rather than once
+     * for each element.
+     * <p>
+     * See {@link ZoneRulesBatch} to process large arrays in parallel.
+     *
+     * @param localEpochSeconds  the local epoch-seconds to find the offsets for, not null
+     * @param fromIndex  the first index to process, inclusive
+     * @param toIndex  the last index to process, exclusive
+     * @param offsetSecondsOut  the array to store the total offset seconds in, not null
+     * @throws IndexOutOfBoundsException if the range is invalid for either array
+     */
+    void getLocalOffsets(long[] localEpochSeconds, int fromIndex, int toIndex, int[] offsetSecondsOut);
+
     //-----------------------------------------------------------------------
     /**
      * Gets the standard offset for the specified instant in this zone.
@@ -212,6 +294,17 @@ public interface ZoneRules {
      */
     ZoneOffset getStandardOffset(Instant instant);
 
+    /**
+     * Gets the standard offset for the specified epoch-second in this zone.
+     * <p>
+     * This is equivalent to {@link #getStandardOffset(Instant)} but operates directly
+     * on the number of seconds from the epoch.
+     *
+     * @param epochSecond  the number of seconds from the epoch of 1970-01-01T00:00:00Z
+     * @return the standard offset, not null
+     */
+    ZoneOffset getStandardOffset(long epochSecond);
+
     /**
      * Gets the amount of daylight savings in use for the specified instant in this zone.
      * <p>
@@ -289,6 +382,37 @@ public interface ZoneRules {
      */
     ZoneOffsetTransition previousTransition(Instant instant);
 
+    /**
+     * Gets an iterator over the transitions between two instants.
+     * <p>
+     * This returns the transitions that occur at or after {@code from} and before {@code to}
+     * in chronological order. The transitions are located as the iterator advances,
+     * resuming from the previous position rather than searching from scratch,
+     * and transitions defined by {@link #getTransitionRules()} are only created for the
+     * years that are reached. This is more efficient than repeated calls to
+     * {@link #nextTransition(Instant)}, and does not require the complete list
+     * of transitions to be created.
+     * <p>
+     * The iterator does not support removal.
+     *
+     * @param from  the instant to start from, inclusive, not null
+     * @param to  the instant to end at, exclusive, not null
+     * @return an iterator over the transitions in the range, not null
+     */
+    Iterator<ZoneOffsetTransition> transitions(Instant from, Instant to);
+
+    /**
+     * Gets a cursor for finding the offsets of a stream of instants.
+     * <p>
+     * The cursor remembers the window between transitions that the previous instant
+     * was in, returning the offset without searching these rules while the instants
+     * stay within that window. This suits streams of instants that are mostly increasing.
+     * The cursor is mutable and not thread-safe.
+     *
+     * @return a new cursor for these rules, not null
+     */
+    ZoneOffsetCursor offsetCursor();
+
     /**
      * Gets the complete list of fully defined transitions.
      * <p>
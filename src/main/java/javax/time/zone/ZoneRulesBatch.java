@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2012, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package javax.time.zone;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import javax.time.jdk8.Jdk8Methods;
+
+/**
+ * Bulk calculation of offsets for large arrays of instants or local date-times.
+ * <p>
+ * This splits the arrays into chunks which are passed to
+ * {@link ZoneRules#getOffsets(long[], int, int, int[])} or
+ * {@link ZoneRules#getLocalOffsets(long[], int, int, int[])} in parallel
+ * using a fork-join pool. Small arrays are processed directly.
+ * <p>
+ * The output is identical to that of the equivalent method on {@code ZoneRules}.
+ *
+ * <h4>Implementation notes</h4>
+ * This class is immutable and thread-safe.
+ */
+public final class ZoneRulesBatch {
+
+    /**
+     * The number of elements below which an array is not split.
+     */
+    static final int THRESHOLD = 1 << 15;
+
+    /**
+     * Restricted constructor.
+     */
+    private ZoneRulesBatch() {
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the offsets applicable at each of the specified epoch-seconds, in parallel.
+     * <p>
+     * This is the parallel equivalent of {@link ZoneRules#getOffsets(long[], int, int, int[])}.
+     *
+     * @param rules  the rules to use, not null
+     * @param epochSeconds  the epoch-seconds to find the offsets for, not null
+     * @param fromIndex  the first index to process, inclusive
+     * @param toIndex  the last index to process, exclusive
+     * @param offsetSecondsOut  the array to store the total offset seconds in, not null
+     * @param pool  the fork-join pool to run in, not null
+     * @throws IndexOutOfBoundsException if the range is invalid for either array
+     */
+    public static void getOffsets(ZoneRules rules, long[] epochSeconds, int fromIndex, int toIndex,
+            int[] offsetSecondsOut, ForkJoinPool pool) {
+        Objects.requireNonNull(rules, "rules");
+        Objects.requireNonNull(pool, "pool");
+        Jdk8Methods.checkBulkRange(epochSeconds.length, fromIndex, toIndex, offsetSecondsOut.length);
+        if (toIndex - fromIndex <= THRESHOLD) {
+            rules.getOffsets(epochSeconds, fromIndex, toIndex, offsetSecondsOut);
+        } else {
+            pool.invoke(new OffsetsTask(rules, false, epochSeconds, fromIndex, toIndex, offsetSecondsOut));
+        }
+    }
+
+    /**
+     * Gets a suitable offset for each of the specified local epoch-seconds, in parallel.
+     * <p>
+     * This is the parallel equivalent of {@link ZoneRules#getLocalOffsets(long[], int, int, int[])}.
+     *
+     * @param rules  the rules to use, not null
+     * @param localEpochSeconds  the local epoch-seconds to find the offsets for, not null
+     * @param fromIndex  the first index to process, inclusive
+     * @param toIndex  the last index to process, exclusive
+     * @param offsetSecondsOut  the array to store the total offset seconds in, not null
+     * @param pool  the fork-join pool to run in, not null
+     * @throws IndexOutOfBoundsException if the range is invalid for either array
+     */
+    public static void getLocalOffsets(ZoneRules rules, long[] localEpochSeconds, int fromIndex, int toIndex,
+            int[] offsetSecondsOut, ForkJoinPool pool) {
+        Objects.requireNonNull(rules, "rules");
+        Objects.requireNonNull(pool, "pool");
+        Jdk8Methods.checkBulkRange(localEpochSeconds.length, fromIndex, toIndex, offsetSecondsOut.length);
+        if (toIndex - fromIndex <= THRESHOLD) {
+            rules.getLocalOffsets(localEpochSeconds, fromIndex, toIndex, offsetSecondsOut);
+        } else {
+            pool.invoke(new OffsetsTask(rules, true, localEpochSeconds, fromIndex, toIndex, offsetSecondsOut));
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Task that splits the range in half until it is below the threshold.
+     * Each chunk is contiguous, so sorted input remains sorted within each chunk.
+     */
+    private static final class OffsetsTask extends RecursiveAction {
+        /** A serialization identifier for this class. */
+        private static final long serialVersionUID = 1L;
+        private final ZoneRules rules;
+        private final boolean local;
+        private final long[] seconds;
+        private final int fromIndex;
+        private final int toIndex;
+        private final int[] offsetSecondsOut;
+
+        OffsetsTask(ZoneRules rules, boolean local, long[] seconds, int fromIndex, int toIndex, int[] offsetSecondsOut) {
+            this.rules = rules;
+            this.local = local;
+            this.seconds = seconds;
+            this.fromIndex = fromIndex;
+            this.toIndex = toIndex;
+            this.offsetSecondsOut = offsetSecondsOut;
+        }
+
+        @Override
+        protected void compute() {
+            if (toIndex - fromIndex <= THRESHOLD) {
+                if (local) {
+                    rules.getLocalOffsets(seconds, fromIndex, toIndex, offsetSecondsOut);
+                } else {
+                    rules.getOffsets(seconds, fromIndex, toIndex, offsetSecondsOut);
+                }
+            } else {
+                int mid = (fromIndex + toIndex) >>> 1;
+                invokeAll(new OffsetsTask(rules, local, seconds, fromIndex, mid, offsetSecondsOut),
+                        new OffsetsTask(rules, local, seconds, mid, toIndex, offsetSecondsOut));
+            }
+        }
+    }
+
+}
@@ -37,10 +37,10 @@ import static javax.time.calendrical.DateTimeAdjusters.previousOrSame;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.time.DateTimeException;
 import javax.time.DayOfWeek;
@@ -77,7 +77,7 @@ class ZoneRulesBuilder {
     /**
      * A map for deduplicating the output.
      */
-    private Map<Object, Object> deduplicateMap;
+    private ConcurrentMap<Object, Object> deduplicateMap;
 
     //-----------------------------------------------------------------------
     /**
@@ -295,7 +295,7 @@ class ZoneRulesBuilder {
      * @throws IllegalStateException if there is only one rule defined as being forever for any given window
      */
     public ZoneRules toRules(String zoneId) {
-        return toRules(zoneId, new HashMap<Object, Object>());
+        return toRules(zoneId, new ConcurrentHashMap<Object, Object>());
     }
 
     /**
@@ -305,12 +305,12 @@ class ZoneRulesBuilder {
      * Further rules should not be added to this builder once this method is called.
      *
      * @param zoneId  the time-zone ID, not null
-     * @param deduplicateMap  a map for deduplicating the values, not null
+     * @param deduplicateMap  a map for deduplicating the values, may be shared between threads, not null
      * @return the zone rules, not null
      * @throws IllegalStateException if no windows have been added
      * @throws IllegalStateException if there is only one rule defined as being forever for any given window
      */
-    ZoneRules toRules(String zoneId, Map<Object, Object> deduplicateMap) {
+    ZoneRules toRules(String zoneId, ConcurrentMap<Object, Object> deduplicateMap) {
         Objects.requireNonNull(zoneId, "zoneId");
         this.deduplicateMap = deduplicateMap;
         if (windowList.isEmpty()) {
@@ -409,10 +409,8 @@ class ZoneRulesBuilder {
      * @return the deduplicated object
      */
     <T> T deduplicate(T object) {
-        if (deduplicateMap.containsKey(object) == false) {
-            deduplicateMap.put(object, object);
-        }
-        return (T) deduplicateMap.get(object);
+        Object existing = deduplicateMap.putIfAbsent(object, object);
+        return (T) (existing != null ? existing : object);
     }
 
     //-----------------------------------------------------------------------
@@ -84,6 +84,10 @@ public abstract class ZoneRulesProvider {
      * The lookup from zone region ID to provider.
      */
     private static final ConcurrentMap<String, ZoneRulesProvider> ZONES = new ConcurrentHashMap<>(512, 0.75f, 2);
+    /**
+     * The snapshot of the registered zone IDs, replaced whenever zone IDs are registered.
+     */
+    private static volatile ZoneIdSnapshot zoneIdSnapshot;
     static {
         ServiceLoader<ZoneRulesProvider> sl = ServiceLoader.load(ZoneRulesProvider.class, ClassLoader.getSystemClassLoader());
         List<ZoneRulesProvider> loaded = new ArrayList<>();
@@ -99,9 +103,11 @@ public abstract class ZoneRulesProvider {
                 throw ex;
             }
             registerProvider0(provider);
+            loaded.add(provider);
         }
         // CopyOnWriteList could be slow if lots of providers and each added individually
         PROVIDERS.addAll(loaded);
+        updateZoneIdSnapshot();
     }
 
     //-------------------------------------------------------------------------
@@ -116,6 +122,31 @@ public abstract class ZoneRulesProvider {
         return new HashSet<>(ZONES.keySet());
     }
 
+    /**
+     * Gets an immutable snapshot of the available zone IDs.
+     * <p>
+     * Unlike {@link #getAvailableZoneIds()}, this does not copy the set of zone IDs,
+     * returning the same snapshot until more zone IDs are registered.
+     * Callers that derive state from the zone IDs can retain the snapshot and
+     * compare its generation to that of the current snapshot to check the state is current.
+     *
+     * @return the snapshot of the zone IDs, not null
+     */
+    public static ZoneIdSnapshot getZoneIdSnapshot() {
+        return zoneIdSnapshot;
+    }
+
+    /**
+     * Replaces the snapshot of the zone IDs after zone IDs are registered.
+     */
+    private static void updateZoneIdSnapshot() {
+        synchronized (ZONES) {
+            ZoneIdSnapshot current = zoneIdSnapshot;
+            long generation = (current != null ? current.getGeneration() + 1 : 0);
+            zoneIdSnapshot = new ZoneIdSnapshot(generation, ZONES.keySet());
+        }
+    }
+
     /**
      * Gets the rules for the zone ID.
      * <p>
@@ -133,6 +164,24 @@ public abstract class ZoneRulesProvider {
         return getProvider(zoneId).provideRules(zoneId);
     }
 
+    /**
+     * Gets the rules for the zone ID, if they may be cached.
+     * <p>
+     * This is used by {@code ZoneId} to decide whether to cache the rules.
+     * If the provider of the zone ID is dynamic, the rules may change after
+     * a {@link #refresh() refresh}, thus null is returned to indicate that the
+     * rules must be looked up each time they are needed.
+     *
+     * @param zoneId  the zone region ID as used by {@code ZoneId}, not null
+     * @return the rules for the ID, null if the rules must not be cached
+     * @throws ZoneRulesException if the zone ID is unknown
+     */
+    public static ZoneRules getCacheableRules(String zoneId) {
+        Objects.requireNonNull(zoneId, "zoneId");
+        ZoneRulesProvider provider = getProvider(zoneId);
+        return (provider.provideDynamic() ? null : provider.provideRules(zoneId));
+    }
+
     /**
      * Gets the history of rules for the zone ID.
      * <p>
@@ -151,9 +200,12 @@ public abstract class ZoneRulesProvider {
      * they do not have to provide a history of rules.
      * Thus the map will always contain one element, and will only contain more
      * than one element if historical rule information is available.
+     * <p>
+     * The map may be a view that only loads the rules of a version when accessed,
+     * thus callers interested in a few versions should query those versions directly.
      *
      * @param zoneId  the zone region ID as used by {@code ZoneId}, not null
-     * @return a modifiable copy of the history of the rules for the ID, sorted
+     * @return the unmodifiable history of the rules for the ID, sorted
      *  from oldest to newest, not null
      * @throws ZoneRulesException if the zone ID is unknown
      */
@@ -200,6 +252,7 @@ public abstract class ZoneRulesProvider {
         Objects.requireNonNull(provider, "provider");
         registerProvider0(provider);
         PROVIDERS.add(provider);
+        updateZoneIdSnapshot();
     }
 
     /**
@@ -229,6 +282,9 @@ public abstract class ZoneRulesProvider {
      * After calling this method, the offset stored in any {@link ZonedDateTime}
      * may be invalid for the zone ID.
      * <p>
+     * Any zone IDs that a refreshed provider has added are registered,
+     * unless already registered by another provider.
+     * <p>
      * Dynamic behavior is entirely optional and most providers, including the
      * default provider, do not support it.
      *
@@ -237,8 +293,19 @@ public abstract class ZoneRulesProvider {
      */
     public static boolean refresh() {
         boolean changed = false;
+        boolean added = false;
         for (ZoneRulesProvider provider : PROVIDERS) {
-            changed |= provider.provideRefresh();
+            if (provider.provideRefresh()) {
+                for (String zoneId : provider.provideZoneIds()) {
+                    if (ZONES.containsKey(zoneId) == false) {
+                        added |= (ZONES.putIfAbsent(zoneId, provider.provideBind(zoneId)) == null);
+                    }
+                }
+                changed = true;
+            }
+        }
+        if (added) {
+            updateZoneIdSnapshot();
         }
         return changed;
     }
@@ -275,7 +342,9 @@ public abstract class ZoneRulesProvider {
      * This optimization is optional. Returning {@code this} is acceptable.
      * <p>
      * This implementation creates a bound provider that caches the
-     * rules from the underlying provider. The request to version history
+     * rules from the underlying provider. The rules are not loaded until
+     * they are first requested, keeping registration cheap for providers
+     * with many zones. The request to version history
      * is forward on to the underlying. This is suitable for providers that
      * cannot change their contents during the lifetime of the JVM.
      *
@@ -316,9 +385,10 @@ public abstract class ZoneRulesProvider {
      * <p>
      * The returned versions remain available and valid for the lifetime of the application.
      * A dynamic provider may increase the set of versions as more data becomes available.
+     * The returned map may be a view that loads the rules of each version when accessed.
      *
      * @param zoneId  the zone region ID as used by {@code ZoneId}, not null
-     * @return a modifiable copy of the history of the rules for the ID, sorted
+     * @return the unmodifiable history of the rules for the ID, sorted
      *  from oldest to newest, not null
      * @throws ZoneRulesException if the zone ID is unknown
      */
@@ -341,6 +411,22 @@ public abstract class ZoneRulesProvider {
         return false;
     }
 
+    /**
+     * SPI method to check whether the rules may change while the application runs.
+     * <p>
+     * Rules from a dynamic provider can change on {@link #provideRefresh() refresh},
+     * thus they are not cached by {@code ZoneId}.
+     * A dynamic provider should also override {@link #provideBind(String)},
+     * as the default bound provider caches the rules.
+     * <p>
+     * This implementation returns false.
+     *
+     * @return true if the rules may change
+     */
+    protected boolean provideDynamic() {
+        return false;
+    }
+
     //-------------------------------------------------------------------------
     /**
      * A provider bound to a single zone ID.
@@ -348,12 +434,12 @@ public abstract class ZoneRulesProvider {
     private static class BoundProvider extends ZoneRulesProvider {
         private final ZoneRulesProvider provider;
         private final String zoneId;
-        private final ZoneRules rules;
+        /** The rules, loaded on first use and then cached. */
+        private volatile ZoneRules rules;
 
         private BoundProvider(ZoneRulesProvider provider, String zoneId) {
             this.provider = provider;
             this.zoneId = zoneId;
-            this.rules = provider.provideRules(zoneId);
         }
 
         @Override
@@ -363,7 +449,17 @@ public abstract class ZoneRulesProvider {
 
         @Override
         protected ZoneRules provideRules(String regionId) {
-            return rules;
+            ZoneRules result = rules;
+            if (result == null) {
+                synchronized (this) {
+                    result = rules;
+                    if (result == null) {
+                        result = provider.provideRules(zoneId);
+                        rules = result;
+                    }
+                }
+            }
+            return result;
         }
 
         @Override
@@ -102,6 +102,13 @@ public class TCKFixedZoneRules {
         assertEquals(test.getOffset((Instant) null), expectedOffset);
     }
 
+    @Test(groups="tck", dataProvider="rules")
+    public void test_getOffset_long(ZoneRules test, ZoneOffset expectedOffset) {
+        assertEquals(test.getOffset(INSTANT.getEpochSecond()), expectedOffset);
+        assertEquals(test.getOffset(Long.MIN_VALUE), expectedOffset);
+        assertEquals(test.getOffset(Long.MAX_VALUE), expectedOffset);
+    }
+
     @Test(groups="tck", dataProvider="rules")
     public void test_getOffset_LocalDateTime(ZoneRules test, ZoneOffset expectedOffset) {
         assertEquals(test.getOffset(LDT), expectedOffset);
@@ -116,6 +123,12 @@ public class TCKFixedZoneRules {
         assertEquals(test.getValidOffsets(null).get(0), expectedOffset);
     }
 
+    @Test(groups="tck", dataProvider="rules")
+    public void test_getValidOffset_LDT(ZoneRules test, ZoneOffset expectedOffset) {
+        assertEquals(test.getValidOffset(LDT), expectedOffset);
+        assertEquals(test.getValidOffset(null), expectedOffset);
+    }
+
     @Test(groups="tck", dataProvider="rules")
     public void test_getTransition_LDT(ZoneRules test, ZoneOffset expectedOffset) {
         assertEquals(test.getTransition(LDT), null);
@@ -139,6 +152,11 @@ public class TCKFixedZoneRules {
         assertEquals(test.getStandardOffset(null), expectedOffset);
     }
 
+    @Test(groups="tck", dataProvider="rules")
+    public void test_getStandardOffset_long(ZoneRules test, ZoneOffset expectedOffset) {
+        assertEquals(test.getStandardOffset(INSTANT.getEpochSecond()), expectedOffset);
+    }
+
     @Test(groups="tck", dataProvider="rules")
     public void test_getDaylightSavings_Instant(ZoneRules test, ZoneOffset expectedOffset) {
         assertEquals(test.getDaylightSavings(INSTANT), Duration.ZERO);
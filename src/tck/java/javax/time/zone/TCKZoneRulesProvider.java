@@ -33,6 +33,7 @@ package javax.time.zone;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 
 import java.util.Collections;
@@ -64,6 +65,24 @@ public class TCKZoneRulesProvider {
         assertEquals(zoneIds2.contains("Europe/London"), true);
     }
 
+    //-----------------------------------------------------------------------
+    // getZoneIdSnapshot()
+    //-----------------------------------------------------------------------
+    @Test(groups={"tck"})
+    public void test_getZoneIdSnapshot() {
+        ZoneIdSnapshot snapshot = ZoneRulesProvider.getZoneIdSnapshot();
+        assertEquals(snapshot.contains("Europe/London"), true);
+        assertEquals(snapshot.contains("Europe/Lon"), false);
+        assertEquals(snapshot.contains(null), false);
+        assertEquals(snapshot.getZoneIds(), ZoneRulesProvider.getAvailableZoneIds());
+        assertSame(ZoneRulesProvider.getZoneIdSnapshot(), snapshot);
+    }
+
+    @Test(groups={"tck"}, expectedExceptions=UnsupportedOperationException.class)
+    public void test_getZoneIdSnapshot_unmodifiable() {
+        ZoneRulesProvider.getZoneIdSnapshot().getZoneIds().clear();
+    }
+
     //-----------------------------------------------------------------------
     // getRules(String)
     //-----------------------------------------------------------------------
@@ -96,12 +115,16 @@ public class TCKZoneRulesProvider {
         assertEquals(versions.lastEntry().getValue(), rules);
 
         NavigableMap<String, ZoneRules> copy = new TreeMap<>(versions);
-        versions.clear();
-        assertEquals(versions.size(), 0);
         NavigableMap<String, ZoneRules> versions2 = ZoneRulesProvider.getVersions("Europe/London");
         assertEquals(versions2, copy);
     }
 
+    @Test(groups={"tck"}, expectedExceptions=UnsupportedOperationException.class)
+    public void test_getVersions_String_unmodifiable() {
+        NavigableMap<String, ZoneRules> versions = ZoneRulesProvider.getVersions("Europe/London");
+        versions.clear();
+    }
+
     @Test(groups={"tck"}, expectedExceptions=ZoneRulesException.class)
     public void test_getVersions_String_unknownId() {
         ZoneRulesProvider.getVersions("Europe/Lon");
@@ -126,11 +149,16 @@ public class TCKZoneRulesProvider {
     @Test(groups={"tck"})
     public void test_registerProvider() {
         Set<String> pre = ZoneRulesProvider.getAvailableZoneIds();
+        ZoneIdSnapshot preSnapshot = ZoneRulesProvider.getZoneIdSnapshot();
         assertEquals(pre.contains("FooLocation"), false);
         ZoneRulesProvider.registerProvider(new MockTempProvider());
         assertEquals(pre.contains("FooLocation"), false);
+        assertEquals(preSnapshot.contains("FooLocation"), false);
         Set<String> post = ZoneRulesProvider.getAvailableZoneIds();
         assertEquals(post.contains("FooLocation"), true);
+        ZoneIdSnapshot postSnapshot = ZoneRulesProvider.getZoneIdSnapshot();
+        assertEquals(postSnapshot.contains("FooLocation"), true);
+        assertTrue(postSnapshot.getGeneration() > preSnapshot.getGeneration());
 
         assertEquals(ZoneRulesProvider.getRules("FooLocation"), ZoneOffset.of("+01:45").getRules());
     }
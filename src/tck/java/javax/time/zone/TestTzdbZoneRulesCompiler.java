@@ -32,12 +32,23 @@
 package javax.time.zone;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
 import java.util.ArrayList;
-import java.util.StringTokenizer;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
 
 import javax.time.DayOfWeek;
 import javax.time.LocalDate;
@@ -384,7 +395,7 @@ public class TestTzdbZoneRulesCompiler {
     static final Method PARSE_MDT;
     static {
         try {
-            PARSE_MDT = TzdbZoneRulesCompiler.class.getDeclaredMethod("parseMonthDayTime", StringTokenizer.class, TZDBMonthDayTime.class);
+            PARSE_MDT = TzdbZoneRulesCompiler.class.getDeclaredMethod("parseMonthDayTime", TzdbZoneRulesCompiler.LineTokenizer.class, TZDBMonthDayTime.class);
             PARSE_MDT.setAccessible(true);
         } catch (Exception ex) {
             throw new RuntimeException(ex);
@@ -393,7 +404,7 @@ public class TestTzdbZoneRulesCompiler {
     private TZDBRule parseMonthDayTime(TzdbZoneRulesCompiler test, String str) throws Exception {
         try {
             TZDBRule mdt = test.new TZDBRule();  // create a bound inner class
-            PARSE_MDT.invoke(test, new StringTokenizer(str), mdt);
+            PARSE_MDT.invoke(test, new TzdbZoneRulesCompiler.LineTokenizer(str), mdt);
             return mdt;
         } catch (InvocationTargetException ex) {
             if (ex.getCause() != null) {
@@ -458,4 +469,154 @@ public class TestTzdbZoneRulesCompiler {
         }
     }
 
+    //-----------------------------------------------------------------------
+    // LineTokenizer
+    //-----------------------------------------------------------------------
+    @Test(groups={"tck"})
+    public void test_lineTokenizer() {
+        TzdbZoneRulesCompiler.LineTokenizer st = new TzdbZoneRulesCompiler.LineTokenizer(" Rule\tEU  1981 max # comment\there");
+        assertEquals(st.countTokens(), 4);
+        assertEquals(st.nextToken(), "Rule");
+        assertEquals(st.countTokens(), 3);
+        assertEquals(st.nextToken(), "EU");
+        assertEquals(st.nextToken(), "1981");
+        assertTrue(st.hasMoreTokens());
+        assertEquals(st.nextToken(), "max");
+        assertFalse(st.hasMoreTokens());
+        assertEquals(st.countTokens(), 0);
+    }
+
+    @Test(groups={"tck"})
+    public void test_lineTokenizer_commentOrBlank() {
+        TzdbZoneRulesCompiler.LineTokenizer st = new TzdbZoneRulesCompiler.LineTokenizer("# Rule EU");
+        assertFalse(st.hasMoreTokens());
+        st.reset(" \t ");
+        assertFalse(st.hasMoreTokens());
+        st.reset("Link");
+        assertEquals(st.nextToken(), "Link");
+    }
+
+    @Test(expectedExceptions=NoSuchElementException.class, groups={"tck"})
+    public void test_lineTokenizer_noMoreTokens() {
+        TzdbZoneRulesCompiler.LineTokenizer st = new TzdbZoneRulesCompiler.LineTokenizer("  # Rule");
+        st.nextToken();
+    }
+
+    //-----------------------------------------------------------------------
+    // readTar
+    //-----------------------------------------------------------------------
+    @Test(groups={"tck"})
+    public void test_readTar() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        writeTarEntry(baos, "./", '5', new byte[0]);
+        writeTarEntry(baos, "./europe", '0', "Zone Europe/London 0:00 - GMT\n".getBytes(StandardCharsets.US_ASCII));
+        writeTarEntry(baos, "./empty", '0', new byte[0]);
+        writeTarEntry(baos, "leapseconds", '0', new byte[600]);
+        baos.write(new byte[1024]);
+        Map<String, byte[]> entries = TzdbZoneRulesCompiler.readTar(new ByteArrayInputStream(baos.toByteArray()));
+        assertEquals(entries.size(), 3);
+        assertEquals(new String(entries.get("europe"), StandardCharsets.US_ASCII), "Zone Europe/London 0:00 - GMT\n");
+        assertEquals(entries.get("empty").length, 0);
+        assertEquals(entries.get("leapseconds").length, 600);
+    }
+
+    private static void writeTarEntry(ByteArrayOutputStream baos, String name, char type, byte[] data) throws Exception {
+        byte[] header = new byte[512];
+        byte[] nameBytes = name.getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(nameBytes, 0, header, 0, nameBytes.length);
+        byte[] sizeBytes = String.format("%011o", data.length).getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(sizeBytes, 0, header, 124, sizeBytes.length);
+        header[156] = (byte) type;
+        baos.write(header);
+        baos.write(data);
+        baos.write(new byte[(512 - data.length % 512) % 512]);
+    }
+
+    //-----------------------------------------------------------------------
+    // compile(File)
+    //-----------------------------------------------------------------------
+    @Test(groups={"tck"})
+    public void test_compile_cache() throws Exception {
+        File cacheDir = Files.createTempDirectory("tzdb-cache").toFile();
+        try {
+            String europe = "Rule EU 1981 max - Mar lastSun 1:00u 1:00 S\n" +
+                    "Rule EU 1996 max - Oct lastSun 1:00u 0 -\n" +
+                    "Zone Europe/Paris 1:00 EU CE%sT\n" +
+                    "Link Europe/Paris Europe/Monaco\n";
+            String leap = "Leap 1972 Jun 30 23:59:60 + S\n";
+            TzdbZoneRulesCompiler first = createCompiler(europe, leap);
+            assertFalse(first.compile(cacheDir));
+            TzdbZoneRulesCompiler second = createCompiler(europe, leap);
+            assertTrue(second.compile(cacheDir));
+            assertEquals(second.getZones(), first.getZones());
+            assertEquals(second.getLeapSeconds(), first.getLeapSeconds());
+            assertTrue(second.getZones().get("Europe/Paris") == second.getZones().get("Europe/Monaco"));
+            TzdbZoneRulesCompiler changed = createCompiler(europe.replace("1:00 EU", "2:00 EU"), leap);
+            assertFalse(changed.compile(cacheDir));
+            assertFalse(changed.getZones().equals(first.getZones()));
+        } finally {
+            for (File file : cacheDir.listFiles()) {
+                file.delete();
+            }
+            cacheDir.delete();
+        }
+    }
+
+    @Test(groups={"tck"})
+    public void test_compile_cache_corrupt() throws Exception {
+        File cacheDir = Files.createTempDirectory("tzdb-cache").toFile();
+        try {
+            String europe = "Rule EU 1981 max - Mar lastSun 1:00u 1:00 S\n" +
+                    "Rule EU 1996 max - Oct lastSun 1:00u 0 -\n" +
+                    "Zone Europe/Paris 1:00 EU CE%sT\n";
+            String leap = "Leap 1972 Jun 30 23:59:60 + S\n";
+            TzdbZoneRulesCompiler first = createCompiler(europe, leap);
+            assertFalse(first.compile(cacheDir));
+            File cacheFile = new File(cacheDir, "tzdb-2010c.cache");
+            byte[] valid = Files.readAllBytes(cacheFile.toPath());
+            int keyLength = 1 + valid[0];
+            for (int pos = keyLength; pos < valid.length; pos++) {
+                // keep the valid key, but corrupt the payload or the digest
+                byte[] corrupt = valid.clone();
+                corrupt[pos] = (byte) ~corrupt[pos];
+                Files.write(cacheFile.toPath(), corrupt);
+                TzdbZoneRulesCompiler test = createCompiler(europe, leap);
+                try {
+                    assertFalse(test.compile(cacheDir), "Corrupt cache at " + pos + " accepted");
+                } catch (Exception ex) {
+                    throw new AssertionError("Corrupt cache at " + pos + " not ignored: " + ex);
+                }
+                assertEquals(test.getZones(), first.getZones());
+                assertEquals(test.getLeapSeconds(), first.getLeapSeconds());
+            }
+            // trailing bytes after the leap seconds are rejected even with a matching digest
+            int payloadLength = valid.length - 32;
+            byte[] trailing = Arrays.copyOf(valid, payloadLength + 1);
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(trailing);
+            Files.write(cacheFile.toPath(), trailing);
+            Files.write(cacheFile.toPath(), digest.digest(), StandardOpenOption.APPEND);
+            TzdbZoneRulesCompiler extended = createCompiler(europe, leap);
+            assertFalse(extended.compile(cacheDir));
+            assertEquals(extended.getZones(), first.getZones());
+            assertEquals(extended.getLeapSeconds(), first.getLeapSeconds());
+            Files.write(cacheFile.toPath(), Arrays.copyOf(valid, keyLength + 3));
+            TzdbZoneRulesCompiler truncated = createCompiler(europe, leap);
+            assertFalse(truncated.compile(cacheDir));
+            assertEquals(truncated.getZones(), first.getZones());
+            assertEquals(Files.readAllBytes(cacheFile.toPath()), valid);
+        } finally {
+            for (File file : cacheDir.listFiles()) {
+                file.delete();
+            }
+            cacheDir.delete();
+        }
+    }
+
+    private static TzdbZoneRulesCompiler createCompiler(String europe, String leap) {
+        Map<String, byte[]> sources = new LinkedHashMap<>();
+        sources.put("europe", europe.getBytes(StandardCharsets.US_ASCII));
+        return new TzdbZoneRulesCompiler("2010c", sources, leap.getBytes(StandardCharsets.US_ASCII), false);
+    }
+
 }
@@ -1451,6 +1451,76 @@ public class TestInstant extends AbstractTest {
         assertEquals(t.toString(), "1970-01-01T00:00:00.000000567Z");
     }
 
+    @DataProvider(name="toStringParse")
+    Object[][] data_toString() {
+        return new Object[][] {
+            {Instant.ofEpochSecond(0, 0), "1970-01-01T00:00Z"},
+            {Instant.ofEpochSecond(1, 0), "1970-01-01T00:00:01Z"},
+            {Instant.ofEpochSecond(60, 0), "1970-01-01T00:01Z"},
+            {Instant.ofEpochSecond(0, 500000000), "1970-01-01T00:00:00.500Z"},
+            {Instant.ofEpochSecond(0, 500000), "1970-01-01T00:00:00.000500Z"},
+            {Instant.ofEpochSecond(-1, 0), "1969-12-31T23:59:59Z"},
+            {Instant.ofEpochSecond(-62167219200L, 0), "0000-01-01T00:00Z"},
+            {Instant.ofEpochSecond(-62167219201L, 0), "-0001-12-31T23:59:59Z"},
+            {Instant.ofEpochSecond(-93724128000L, 0), "-1000-01-01T00:00Z"},
+            {Instant.ofEpochSecond(253402300799L, 0), "9999-12-31T23:59:59Z"},
+            {Instant.ofEpochSecond(253402300800L, 0), "+10000-01-01T00:00Z"},
+            {Instant.ofEpochSecond(31556889832780800L, 0), "+1000000000-01-01T00:00Z"},
+            {Instant.MIN_INSTANT, "-292277022657-01-27T08:29:52Z"},
+            {Instant.MAX_INSTANT, "+292277026596-12-04T15:30:07.999999999Z"},
+            {Instant.ofEpochSecond(Long.MIN_VALUE + 34208), "-292277022657-01-27T18:00Z"},
+            {Instant.ofEpochSecond(Long.MAX_VALUE - 34207), "+292277026596-12-04T06:00Z"},
+        };
+    }
+
+    @Test(dataProvider="toStringParse", groups={"implementation"})
+    public void test_toString(Instant instant, String expected) {
+        assertEquals(instant.toString(), expected);
+    }
+
+    @Test(dataProvider="toStringParse", groups={"implementation"})
+    public void test_parse(Instant instant, String text) {
+        assertEquals(Instant.parse(text), instant);
+    }
+
+    @DataProvider(name="parseOffset")
+    Object[][] data_parseOffset() {
+        return new Object[][] {
+            {Instant.EPOCH, "1970-01-01T01:00+01:00"},
+            {Instant.EPOCH, "1969-12-31T23:59:30-00:00:30"},
+            {Instant.MIN_INSTANT, "-292277022657-01-26T23:29:52-09:00"},
+            {Instant.ofEpochSecond(Long.MIN_VALUE + 34208), "-292277022657-01-27T00:00-18:00"},
+            {Instant.ofEpochSecond(Long.MAX_VALUE - 34207), "+292277026596-12-05T00:00+18:00"},
+        };
+    }
+
+    @Test(dataProvider="parseOffset", groups={"implementation"})
+    public void test_parse_offset(Instant instant, String text) {
+        assertEquals(Instant.parse(text), instant);
+    }
+
+    @DataProvider(name="parseInvalid")
+    Object[][] data_parseInvalid() {
+        return new Object[][] {
+            {"2012-02-30T00:00Z"},
+            {"2012-13-01T00:00Z"},
+            {"2012-01-01T24:00Z"},
+            {"+2012-01-01T00:00Z"},
+            {"12345-01-01T00:00Z"},
+            {"-0000-01-01T00:00Z"},
+            {"2012-01-01T00:00+18:01"},
+            {"+292277026596-12-04T15:30:08Z"},
+            {"-292277022657-01-27T08:29:51Z"},
+            {"-292277022657-01-26T23:29:51-09:00"},
+            {"+292277026596-12-05T00:00-18:00"},
+        };
+    }
+
+    @Test(dataProvider="parseInvalid", expectedExceptions=DateTimeParseException.class, groups={"implementation"})
+    public void test_parse_invalid(String text) {
+        Instant.parse(text);
+    }
+
     //-----------------------------------------------------------------------
     @Test(groups={"tck"})
     public void test_serialization_format() throws ClassNotFoundException, IOException {
@@ -103,6 +103,11 @@ public class TestZoneId extends AbstractTest {
         assertSerializable(test);
     }
 
+    public void test_serialization_region_canonical() throws Exception {
+        ZoneId test = ZoneId.of("Europe/Paris");
+        assertSerializableAndSame(test);
+    }
+
     @Test(groups={"tck"})
     public void test_serialization_format() throws ClassNotFoundException, IOException {
         assertEqualsSerialisedForm(ZoneId.of("Europe/London"), ZoneId.class);
@@ -413,6 +418,12 @@ public class TestZoneId extends AbstractTest {
         assertEquals(test.getRules().isFixedOffset(), false);
     }
 
+    public void test_of_string_London_canonical() {
+        ZoneId test = ZoneId.of("Europe/London");
+        assertSame(ZoneId.of("Europe/London"), test);
+        assertSame(ZoneId.of("Europe/London").getRules(), test.getRules());
+    }
+
     //-----------------------------------------------------------------------
     @Test(expectedExceptions=NullPointerException.class)
     public void test_of_string_null() {
@@ -44,6 +44,7 @@ import static javax.time.calendrical.ChronoField.MONTH_OF_YEAR;
 import static javax.time.calendrical.ChronoField.YEAR;
 import static org.testng.Assert.assertEquals;
 
+import javax.time.DateTimeException;
 import javax.time.LocalDate;
 import javax.time.LocalDateTime;
 import javax.time.LocalTime;
@@ -142,4 +143,34 @@ public class TestDateTimeBuilderCombinations {
 //        assertEquals(builder.build(OffsetDateTime.class), OffsetDateTime.of(2012, 6, 30, 12, 30, ZoneOffset.ofHours(2)));
     }
 
+    //-----------------------------------------------------------------------
+    @Test
+    public void test_build_reflective() {
+        DateTimeBuilder builder = new DateTimeBuilder(YEAR, 2012);
+        assertEquals(builder.build(MockYearHolder.class).year, 2012);
+        assertEquals(builder.build(MockYearHolder.class).year, 2012);
+    }
+
+    @Test(expectedExceptions=DateTimeException.class)
+    public void test_build_reflective_exception() {
+        DateTimeBuilder builder = new DateTimeBuilder(MONTH_OF_YEAR, 6);
+        builder.build(MockYearHolder.class);
+    }
+
+    @Test(expectedExceptions=DateTimeException.class)
+    public void test_build_noFromMethod() {
+        DateTimeBuilder builder = new DateTimeBuilder(YEAR, 2012);
+        builder.build(String.class);
+    }
+
+    public static final class MockYearHolder {
+        final int year;
+        private MockYearHolder(int year) {
+            this.year = year;
+        }
+        public static MockYearHolder from(DateTimeAccessor dateTime) {
+            return new MockYearHolder(dateTime.get(YEAR));
+        }
+    }
+
 }
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2012, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package javax.time.format;
+
+import static javax.time.calendrical.ChronoField.DAY_OF_MONTH;
+import static javax.time.calendrical.ChronoField.MONTH_OF_YEAR;
+import static javax.time.calendrical.ChronoField.YEAR;
+import static org.testng.Assert.assertEquals;
+
+import java.util.Locale;
+
+import javax.time.DateTimeException;
+import javax.time.ZoneOffset;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Test DateTimeParseContext.
+ */
+@Test(groups={"implementation"})
+public class TestDateTimeParseContext {
+
+    private DateTimeParseContext context;
+
+    @BeforeMethod(groups={"implementation"})
+    public void setUp() {
+        context = new DateTimeParseContext(Locale.GERMANY, DateTimeFormatSymbols.of(Locale.GERMANY));
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_optional_successful() throws Exception {
+        context.setParsedField(YEAR, 2008);
+        context.startOptional();
+        context.setParsedField(MONTH_OF_YEAR, 6);
+        context.setParsed(ZoneOffset.ofHours(1));
+        context.endOptional(true);
+        assertEquals(context.getParsed(YEAR), Long.valueOf(2008));
+        assertEquals(context.getParsed(MONTH_OF_YEAR), Long.valueOf(6));
+        assertEquals(context.getParsed(ZoneOffset.class), ZoneOffset.ofHours(1));
+        assertEquals(context.getParsed().size(), 3);
+    }
+
+    public void test_optional_unsuccessful() throws Exception {
+        context.setParsedField(YEAR, 2008);
+        context.startOptional();
+        context.setParsedField(MONTH_OF_YEAR, 6);
+        context.setParsedField(YEAR, 2000);
+        context.setParsed(ZoneOffset.ofHours(1));
+        context.endOptional(false);
+        assertEquals(context.getParsed(YEAR), Long.valueOf(2008));
+        assertEquals(context.getParsed(MONTH_OF_YEAR), null);
+        assertEquals(context.getParsed(ZoneOffset.class), null);
+        assertEquals(context.getParsed().size(), 1);
+        assertEquals(context.toBuilder().getFieldValueMap().size(), 1);
+    }
+
+    public void test_optional_nested() throws Exception {
+        context.startOptional();
+        context.setParsedField(YEAR, 2008);
+        context.startOptional();
+        context.setParsedField(MONTH_OF_YEAR, 6);
+        context.endOptional(false);
+        context.setParsedField(DAY_OF_MONTH, 30);
+        context.startOptional();
+        context.setParsedField(MONTH_OF_YEAR, 7);
+        context.endOptional(true);
+        context.endOptional(true);
+        assertEquals(context.getParsed(YEAR), Long.valueOf(2008));
+        assertEquals(context.getParsed(MONTH_OF_YEAR), Long.valueOf(7));
+        assertEquals(context.getParsed(DAY_OF_MONTH), Long.valueOf(30));
+        assertEquals(context.getParsed().size(), 3);
+    }
+
+    public void test_optional_deep() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            context.startOptional();
+        }
+        context.setParsedField(YEAR, 2008);
+        for (int i = 0; i < 20; i++) {
+            context.endOptional(false);
+        }
+        assertEquals(context.getParsed(YEAR), null);
+        assertEquals(context.getParsed().size(), 0);
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_setParsedField_repeatedEqual() throws Exception {
+        context.setParsedField(YEAR, 2008);
+        context.setParsedField(YEAR, 2008);
+        assertEquals(context.getParsed().size(), 1);
+        assertEquals(context.toBuilder().getFieldValueMap().get(YEAR), Long.valueOf(2008));
+    }
+
+    @Test(expectedExceptions=DateTimeException.class)
+    public void test_toBuilder_repeatedConflict() throws Exception {
+        context.setParsedField(YEAR, 2008);
+        context.setParsedField(YEAR, 2000);
+        context.toBuilder();
+    }
+
+}
@@ -31,6 +31,9 @@
  */
 package javax.time.format;
 
+import static javax.time.calendrical.ChronoField.EPOCH_DAY;
+import static javax.time.calendrical.ChronoField.INSTANT_SECONDS;
+import static javax.time.calendrical.ChronoField.NANO_OF_DAY;
 import static javax.time.calendrical.ChronoField.NANO_OF_SECOND;
 import static javax.time.calendrical.ChronoField.SECOND_OF_MINUTE;
 import static org.testng.Assert.assertEquals;
@@ -285,6 +288,34 @@ public class TestFractionPrinterParser extends AbstractTestPrinterParser {
         }
     }
 
+    //-----------------------------------------------------------------------
+    @DataProvider(name="LargeRanges")
+    Object[][] provider_largeRanges() {
+        return new Object[][] {
+            {NANO_OF_DAY, 43200000000000L,         ".5",         43200000000000L},
+            {NANO_OF_DAY, 86399999999999L,         ".999999999", 86399999913600L},
+            {EPOCH_DAY, 0L,                        ".499999999", -730L},
+            {INSTANT_SECONDS, 0L,                  ".5",         0L},
+            {INSTANT_SECONDS, Long.MAX_VALUE,      ".999999999", 9223372018408031734L},
+        };
+    }
+
+    @Test(dataProvider="LargeRanges")
+    public void test_print_largeRanges(DateTimeField field, long value, String result, long parsed) throws Exception {
+        printContext.setDateTime(new MockFieldValue(field, value));
+        FractionPrinterParser pp = new FractionPrinterParser(field, 0, 9, true);
+        pp.print(printContext, buf);
+        assertEquals(buf.toString(), result);
+    }
+
+    @Test(dataProvider="LargeRanges")
+    public void test_reverseParse_largeRanges(DateTimeField field, long value, String result, long parsed) throws Exception {
+        FractionPrinterParser pp = new FractionPrinterParser(field, 0, 9, true);
+        int newPos = pp.parse(parseContext, result, 0);
+        assertEquals(newPos, result.length());
+        assertParsed(parseContext, field, parsed);
+    }
+
     //-----------------------------------------------------------------------
     @DataProvider(name="ParseNothing")
     Object[][] provider_parseNothing() {
@@ -251,6 +251,33 @@ public class TestNumberPrinter extends AbstractTestPrinterParser {
         }
     }
 
+    //-----------------------------------------------------------------------
+    @DataProvider(name="Extremes")
+    Object[][] provider_extremes() {
+        return new Object[][] {
+            {Long.MAX_VALUE, "9223372036854775807"},
+            {Long.MAX_VALUE - 1, "9223372036854775806"},
+            {Long.MIN_VALUE + 1, "-9223372036854775807"},
+            {Long.MIN_VALUE, "-9223372036854775808"},
+        };
+    }
+
+    @Test(dataProvider="Extremes")
+    public void test_print_extremes(long value, String result) throws Exception {
+        printContext.setDateTime(new MockFieldValue(DAY_OF_MONTH, value));
+        NumberPrinterParser pp = new NumberPrinterParser(DAY_OF_MONTH, 1, 19, SignStyle.NORMAL);
+        pp.print(printContext, buf);
+        assertEquals(buf.toString(), result);
+    }
+
+    public void test_print_zeroDigit() throws Exception {
+        printContext.setSymbols(DateTimeFormatSymbols.STANDARD.withZeroDigit('\u0660'));
+        printContext.setDateTime(new MockFieldValue(DAY_OF_MONTH, -1907));
+        NumberPrinterParser pp = new NumberPrinterParser(DAY_OF_MONTH, 6, 19, SignStyle.NORMAL);
+        pp.print(printContext, buf);
+        assertEquals(buf.toString(), "-\u0660\u0660\u0661\u0669\u0660\u0667");
+    }
+
     //-----------------------------------------------------------------------
     public void test_toString1() throws Exception {
         NumberPrinterParser pp = new NumberPrinterParser(HOUR_OF_DAY, 1, 19, SignStyle.NORMAL);
@@ -37,7 +37,10 @@ import static javax.time.calendrical.ChronoField.MONTH_OF_YEAR;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 
+import java.text.ParsePosition;
+import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
 
 import javax.time.calendrical.DateTimeField;
 import javax.time.format.DateTimeFormatterBuilder.TextPrinterParser;
@@ -327,6 +330,37 @@ public class TestTextParser extends AbstractTestPrinterParser {
         assertParsed(parseContext, MONTH_OF_YEAR, 1L);
     }
 
+    //-----------------------------------------------------------------------
+    public void test_parse_changeLocale() throws Exception {
+        TextPrinterParser pp = new TextPrinterParser(MONTH_OF_YEAR, TextStyle.FULL, PROVIDER);
+        assertEquals(pp.parse(parseContext, "March", 0), 5);
+        assertParsed(parseContext, MONTH_OF_YEAR, 3L);
+        parseContext = new DateTimeParseContext(Locale.FRENCH, DateTimeFormatSymbols.STANDARD);
+        assertEquals(pp.parse(parseContext, "mars", 0), 4);
+        assertParsed(parseContext, MONTH_OF_YEAR, 3L);
+    }
+
+    public void test_parse_map_longestMatch() throws Exception {
+        Map<Long, String> map = new HashMap<>();
+        map.put(1L, "I");
+        map.put(2L, "II");
+        map.put(3L, "III");
+        map.put(4L, "IV");
+        DateTimeFormatter sensitive = new DateTimeFormatterBuilder().appendText(MONTH_OF_YEAR, map).toFormatter();
+        ParsePosition pos = new ParsePosition(0);
+        assertEquals(sensitive.parseToBuilder("IIIX", pos).getFieldValue(MONTH_OF_YEAR), 3L);
+        assertEquals(pos.getIndex(), 3);
+        pos = new ParsePosition(0);
+        assertEquals(sensitive.parseToBuilder("ii", pos), null);
+        assertEquals(pos.getErrorIndex(), 0);
+
+        DateTimeFormatter insensitive = new DateTimeFormatterBuilder()
+            .parseCaseInsensitive().appendText(MONTH_OF_YEAR, map).toFormatter();
+        pos = new ParsePosition(0);
+        assertEquals(insensitive.parseToBuilder("iv", pos).getFieldValue(MONTH_OF_YEAR), 4L);
+        assertEquals(pos.getIndex(), 2);
+    }
+
     private void assertParsed(DateTimeParseContext context, DateTimeField field, Long value) {
         if (value == null) {
             assertEquals(context.getParsed(field), null);
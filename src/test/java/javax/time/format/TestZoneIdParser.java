@@ -31,6 +31,16 @@
  */
 package javax.time.format;
 
+import static org.testng.Assert.assertEquals;
+
+import java.util.Set;
+
+import javax.time.ZoneId;
+import javax.time.ZoneOffset;
+import javax.time.format.DateTimeFormatterBuilder.ZoneIdPrinterParser;
+import javax.time.zone.ZoneRulesProvider;
+
+import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
 /**
@@ -39,132 +49,158 @@ import org.testng.annotations.Test;
 @Test(groups={"implementation"})
 public class TestZoneIdParser extends AbstractTestPrinterParser {
 
-//    private static final String AMERICA_DENVER = "America/Denver";
-//    private static final ZoneId TIME_ZONE_DENVER = ZoneId.of(AMERICA_DENVER);
-//
-//    //-----------------------------------------------------------------------
-//    @DataProvider(name="error")
-//    Object[][] data_error() {
-//        return new Object[][] {
-//            {new ZoneIdPrinterParser(null), "hello", -1, IndexOutOfBoundsException.class},
-//            {new ZoneIdPrinterParser(null), "hello", 6, IndexOutOfBoundsException.class},
-//        };
-//    }
-//
-//    @Test(dataProvider="error")
-//    public void test_parse_error(ZoneIdPrinterParser pp, String text, int pos, Class<?> expected) {
-//        try {
-//            pp.parse(parseContext, text, pos);
-//        } catch (RuntimeException ex) {
-//            assertTrue(expected.isInstance(ex));
-//            assertEquals(parseContext.getParsed().size(), 0);
-//        }
-//    }
-//
-//    //-----------------------------------------------------------------------
-//    public void test_parse_exactMatch_Denver() throws Exception {
-//        ZoneIdPrinterParser pp = new ZoneIdPrinterParser(null);
-//        int result = pp.parse(parseContext, AMERICA_DENVER, 0);
-//        assertEquals(result, AMERICA_DENVER.length());
-//        assertParsed(TIME_ZONE_DENVER);
-//    }
-//
-//    public void test_parse_startStringMatch_Denver() throws Exception {
-//        ZoneIdPrinterParser pp = new ZoneIdPrinterParser(null);
-//        int result = pp.parse(parseContext, AMERICA_DENVER + "OTHER", 0);
-//        assertEquals(result, AMERICA_DENVER.length());
-//        assertParsed(TIME_ZONE_DENVER);
-//    }
-//
-//    public void test_parse_midStringMatch_Denver() throws Exception {
-//        ZoneIdPrinterParser pp = new ZoneIdPrinterParser(null);
-//        int result = pp.parse(parseContext, "OTHER" + AMERICA_DENVER + "OTHER", 5);
-//        assertEquals(result, 5 + AMERICA_DENVER.length());
-//        assertParsed(TIME_ZONE_DENVER);
-//    }
-//
-//    public void test_parse_endStringMatch_Denver() throws Exception {
-//        ZoneIdPrinterParser pp = new ZoneIdPrinterParser(null);
-//        int result = pp.parse(parseContext, "OTHER" + AMERICA_DENVER, 5);
-//        assertEquals(result, 5+ AMERICA_DENVER.length());
-//        assertParsed(TIME_ZONE_DENVER);
-//    }
-//
-//    public void test_parse_partialMatch() throws Exception {
-//        ZoneIdPrinterParser pp = new ZoneIdPrinterParser(null);
-//        int result = pp.parse(parseContext, "OTHERAmerica/Bogusville", 5);
-//        assertEquals(result, -6);
-//        assertParsed(null);
-//    }
-//
-//    //-----------------------------------------------------------------------
-//    @DataProvider(name="zones")
-//    Object[][] populateTestData() {
-//        List<String> ids = new ArrayList<>();
-//        Set<String> groupIds = ZoneRulesProvider.getAvailableGroupIds();
-//        for (String groupId : groupIds) {
-//            ids.addAll(ZoneRulesProvider.getProvider(groupId).getAvailableRegionIds());
-//        }
-//        Object[][] rtnval = new Object[ids.size()][];
-//        int i = 0;
-//        for (String id : ids) {
-//            rtnval[i++] = new Object[] { id, ZoneId.of(id) };
-//        }
-//        return rtnval;
-//    }
-//
-//    @Test(dataProvider="zones")
-//    public void test_parse_exactMatch(String parse, ZoneId expected) throws Exception {
-//        ZoneIdPrinterParser pp = new ZoneIdPrinterParser(null);
-//        int result = pp.parse(parseContext, parse, 0);
-//        assertEquals(result, parse.length());
-//        assertParsed(expected);
-//    }
-//
-//    //-----------------------------------------------------------------------
-//    public void test_parse_endStringMatch_utc() throws Exception {
-//        ZoneIdPrinterParser pp = new ZoneIdPrinterParser(null);
-//        int result = pp.parse(parseContext, "OTHERZ", 5);
-//        assertEquals(result, 6);
-//        assertParsed(ZoneOffset.UTC);
-//    }
-//
-//    public void test_parse_endStringMatch_utc_plus1() throws Exception {
-//        ZoneIdPrinterParser pp = new ZoneIdPrinterParser(null);
-//        int result = pp.parse(parseContext, "OTHER+01:00", 5);
-//        assertEquals(result, 11);
-//        assertParsed(ZoneId.of("UTC+01:00"));
-//    }
-//
-//    //-----------------------------------------------------------------------
-//    public void test_parse_midStringMatch_utc() throws Exception {
-//        ZoneIdPrinterParser pp = new ZoneIdPrinterParser(null);
-//        int result = pp.parse(parseContext, "OTHERZOTHER", 5);
-//        assertEquals(result, 6);
-//        assertParsed(ZoneOffset.UTC);
-//    }
-//
-//    public void test_parse_midStringMatch_utc_plus1() throws Exception {
-//        ZoneIdPrinterParser pp = new ZoneIdPrinterParser(null);
-//        int result = pp.parse(parseContext, "OTHER+01:00OTHER", 5);
-//        assertEquals(result, 11);
-//        assertParsed(ZoneId.of("UTC+01:00"));
-//    }
-//
-//    //-----------------------------------------------------------------------
-//    public void test_toString_id() {
-//        ZoneIdPrinterParser pp = new ZoneIdPrinterParser(null);
-//        assertEquals(pp.toString(), "ZoneId()");
-//    }
-//
-//    public void test_toString_text() {
-//        ZoneIdPrinterParser pp = new ZoneIdPrinterParser(TextStyle.FULL);
-//        assertEquals(pp.toString(), "ZoneText(FULL)");
-//    }
-//
-//    private void assertParsed(ZoneId expectedZone) {
-//        assertEquals(parseContext.getParsed().size(), expectedZone == null ? 0 : 1);
-//        assertEquals(parseContext.getParsed(ZoneId.class), expectedZone);
-//    }
+    private static final String AMERICA_DENVER = "America/Denver";
+    private static final ZoneId TIME_ZONE_DENVER = ZoneId.of(AMERICA_DENVER);
+
+    //-----------------------------------------------------------------------
+    @Test(expectedExceptions=IndexOutOfBoundsException.class)
+    public void test_parse_error() {
+        ZoneIdPrinterParser pp = new ZoneIdPrinterParser(false);
+        pp.parse(parseContext, "hello", 6);
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_parse_exactMatch_Denver() throws Exception {
+        ZoneIdPrinterParser pp = new ZoneIdPrinterParser(false);
+        int result = pp.parse(parseContext, AMERICA_DENVER, 0);
+        assertEquals(result, AMERICA_DENVER.length());
+        assertParsed(TIME_ZONE_DENVER);
+    }
+
+    public void test_parse_startStringMatch_Denver() throws Exception {
+        ZoneIdPrinterParser pp = new ZoneIdPrinterParser(false);
+        int result = pp.parse(parseContext, AMERICA_DENVER + "OTHER", 0);
+        assertEquals(result, AMERICA_DENVER.length());
+        assertParsed(TIME_ZONE_DENVER);
+    }
+
+    public void test_parse_midStringMatch_Denver() throws Exception {
+        ZoneIdPrinterParser pp = new ZoneIdPrinterParser(false);
+        int result = pp.parse(parseContext, "OTHER" + AMERICA_DENVER + "OTHER", 5);
+        assertEquals(result, 5 + AMERICA_DENVER.length());
+        assertParsed(TIME_ZONE_DENVER);
+    }
+
+    public void test_parse_endStringMatch_Denver() throws Exception {
+        ZoneIdPrinterParser pp = new ZoneIdPrinterParser(false);
+        int result = pp.parse(parseContext, "OTHER" + AMERICA_DENVER, 5);
+        assertEquals(result, 5+ AMERICA_DENVER.length());
+        assertParsed(TIME_ZONE_DENVER);
+    }
+
+    public void test_parse_partialMatch() throws Exception {
+        ZoneIdPrinterParser pp = new ZoneIdPrinterParser(false);
+        int result = pp.parse(parseContext, "OTHERAmerica/Bogusville", 5);
+        assertEquals(result, -6);
+        assertParsed(null);
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_parse_longestMatch() throws Exception {
+        ZoneIdPrinterParser pp = new ZoneIdPrinterParser(false);
+        int result = pp.parse(parseContext, "Etc/GMT+10", 0);
+        assertEquals(result, 10);
+        assertParsed(ZoneId.of("Etc/GMT+10"));
+    }
+
+    public void test_parse_longestMatch_shorterId() throws Exception {
+        // Etc/GMT+13 does not exist, but Etc/GMT+1 does
+        ZoneIdPrinterParser pp = new ZoneIdPrinterParser(false);
+        int result = pp.parse(parseContext, "Etc/GMT+13", 0);
+        assertEquals(result, 9);
+        assertParsed(ZoneId.of("Etc/GMT+1"));
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_parse_caseSensitive() throws Exception {
+        ZoneIdPrinterParser pp = new ZoneIdPrinterParser(false);
+        int result = pp.parse(parseContext, "europe/LONDON", 0);
+        assertEquals(result, -1);
+        assertParsed(null);
+    }
+
+    public void test_parse_caseInsensitive() throws Exception {
+        ZoneIdPrinterParser pp = new ZoneIdPrinterParser(false);
+        parseContext.setCaseSensitive(false);
+        int result = pp.parse(parseContext, "OTHEReurope/LONDONOTHER", 5);
+        assertEquals(result, 18);
+        ZoneId parsed = parseContext.getParsed(ZoneId.class);
+        assertEquals(parsed.getId(), "Europe/London");
+    }
+
+    //-----------------------------------------------------------------------
+    @DataProvider(name="zones")
+    Object[][] populateTestData() {
+        Set<String> ids = ZoneRulesProvider.getZoneIdSnapshot().getZoneIds();
+        Object[][] rtnval = new Object[ids.size()][];
+        int i = 0;
+        for (String id : ids) {
+            rtnval[i++] = new Object[] { id, ZoneId.of(id) };
+        }
+        return rtnval;
+    }
+
+    @Test(dataProvider="zones")
+    public void test_parse_exactMatch(String parse, ZoneId expected) throws Exception {
+        ZoneIdPrinterParser pp = new ZoneIdPrinterParser(false);
+        int result = pp.parse(parseContext, parse, 0);
+        assertEquals(result, parse.length());
+        assertParsed(expected);
+    }
+
+    @Test(dataProvider="zones")
+    public void test_parse_exactMatch_caseInsensitive(String parse, ZoneId expected) throws Exception {
+        ZoneIdPrinterParser pp = new ZoneIdPrinterParser(false);
+        parseContext.setCaseSensitive(false);
+        int result = pp.parse(parseContext, parse.toUpperCase(), 0);
+        assertEquals(result, parse.length());
+        assertEquals(parseContext.getParsed(ZoneId.class).getId().toUpperCase(), parse.toUpperCase());
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_parse_endStringMatch_utc() throws Exception {
+        ZoneIdPrinterParser pp = new ZoneIdPrinterParser(false);
+        int result = pp.parse(parseContext, "OTHERZ", 5);
+        assertEquals(result, 6);
+        assertParsed(ZoneOffset.UTC);
+    }
+
+    public void test_parse_endStringMatch_utc_plus1() throws Exception {
+        ZoneIdPrinterParser pp = new ZoneIdPrinterParser(false);
+        int result = pp.parse(parseContext, "OTHER+01:00", 5);
+        assertEquals(result, 11);
+        assertParsed(ZoneOffset.ofHours(1));
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_parse_midStringMatch_utc() throws Exception {
+        ZoneIdPrinterParser pp = new ZoneIdPrinterParser(false);
+        int result = pp.parse(parseContext, "OTHERZOTHER", 5);
+        assertEquals(result, 6);
+        assertParsed(ZoneOffset.UTC);
+    }
+
+    public void test_parse_midStringMatch_utc_plus1() throws Exception {
+        ZoneIdPrinterParser pp = new ZoneIdPrinterParser(false);
+        int result = pp.parse(parseContext, "OTHER+01:00OTHER", 5);
+        assertEquals(result, 11);
+        assertParsed(ZoneOffset.ofHours(1));
+    }
+
+    //-----------------------------------------------------------------------
+    public void test_toString_id() {
+        ZoneIdPrinterParser pp = new ZoneIdPrinterParser(false);
+        assertEquals(pp.toString(), "ZoneId()");
+    }
+
+    public void test_toString_regionId() {
+        ZoneIdPrinterParser pp = new ZoneIdPrinterParser(true);
+        assertEquals(pp.toString(), "ZoneRegionId()");
+    }
+
+    private void assertParsed(ZoneId expectedZone) {
+        assertEquals(parseContext.getParsed().size(), expectedZone == null ? 0 : 1);
+        assertEquals(parseContext.getParsed(ZoneId.class), expectedZone);
+    }
 
 }
@@ -66,6 +66,10 @@ public class TestFixedZoneRules {
         assertEquals(test.isDaylightSavings(null), false);
         assertEquals(test.nextTransition(null), null);
         assertEquals(test.previousTransition(null), null);
+        assertEquals(test.transitions(null, null).hasNext(), false);
+        int[] out = new int[2];
+        test.getOffsets(new long[] {0, 1}, 0, 2, out);
+        assertEquals(out[1], OFFSET_PONE.getTotalSeconds());
     }
 
 }
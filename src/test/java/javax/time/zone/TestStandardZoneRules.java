@@ -34,14 +34,20 @@ package javax.time.zone;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.time.DayOfWeek;
 import javax.time.Duration;
@@ -94,6 +100,26 @@ public class TestStandardZoneRules {
         assertEquals(result, test);
     }
 
+    public void test_read_deduplicated() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        Ser.write(europeLondon(), new DataOutputStream(baos));
+        byte[] bytes = baos.toByteArray();
+
+        ConcurrentMap<Object, Object> deduplicateMap = new ConcurrentHashMap<>();
+        ZoneRules first = (ZoneRules) Ser.read(new DataInputStream(new ByteArrayInputStream(bytes)), deduplicateMap);
+        ZoneRules second = (ZoneRules) Ser.read(new DataInputStream(new ByteArrayInputStream(bytes)), deduplicateMap);
+        assertEquals(first, europeLondon());
+        assertEquals(second, europeLondon());
+
+        // local mean time is not cached by ZoneOffset, but is shared between the rules
+        ZoneOffset lmt = first.getTransitions().get(0).getOffsetBefore();
+        assertEquals(lmt.getTotalSeconds(), -75);
+        assertSame(second.getTransitions().get(0).getOffsetBefore(), lmt);
+        for (int i = 0; i < first.getTransitionRules().size(); i++) {
+            assertSame(second.getTransitionRules().get(i), first.getTransitionRules().get(i));
+        }
+    }
+
     //-----------------------------------------------------------------------
     // Europe/London
     //-----------------------------------------------------------------------
@@ -134,6 +160,17 @@ public class TestStandardZoneRules {
         assertEquals(test.getOffset(createInstant(2008, 12, 1, ZoneOffset.UTC)), OFFSET_ZERO);
     }
 
+    public void test_London_getOffset_epochSecond() {
+        ZoneRules test = europeLondon();
+        ZonedDateTime zdt = createZDT(1840, 1, 1, ZoneOffset.UTC);
+        while (zdt.getYear() < 2050) {
+            Instant instant = zdt.toInstant();
+            assertEquals(test.getOffset(instant.getEpochSecond()), test.getOffset(instant));
+            assertEquals(test.getStandardOffset(instant.getEpochSecond()), test.getStandardOffset(instant));
+            zdt = zdt.plusDays(17);
+        }
+    }
+
     public void test_London_getOffset_toDST() {
         ZoneRules test = europeLondon();
         assertEquals(test.getOffset(createInstant(2008, 3, 24, ZoneOffset.UTC)), OFFSET_ZERO);
@@ -261,6 +298,50 @@ public class TestStandardZoneRules {
         assertEquals(trans.hashCode(), otherTrans.hashCode());
     }
 
+    public void test_London_getOffsetInfo_gap_boundaries() {
+        ZoneRules test = europeLondon();
+        // historic
+        LocalDateTime gapStart = LocalDateTime.of(1990, 3, 25, 1, 0);
+        checkOffset(test, gapStart.minusNanos(1), OFFSET_ZERO, 1);
+        checkOffset(test, gapStart, OFFSET_ZERO, GAP);
+        checkOffset(test, gapStart.plusNanos(1), OFFSET_ZERO, GAP);
+        checkOffset(test, gapStart.plusHours(1).minusNanos(1), OFFSET_ZERO, GAP);
+        checkOffset(test, gapStart.plusHours(1), OFFSET_PONE, 1);
+        // rules based
+        gapStart = LocalDateTime.of(2008, 3, 30, 1, 0);
+        checkOffset(test, gapStart.minusNanos(1), OFFSET_ZERO, 1);
+        checkOffset(test, gapStart, OFFSET_ZERO, GAP);
+        checkOffset(test, gapStart.plusNanos(1), OFFSET_ZERO, GAP);
+        checkOffset(test, gapStart.plusHours(1).minusNanos(1), OFFSET_ZERO, GAP);
+        checkOffset(test, gapStart.plusHours(1), OFFSET_PONE, 1);
+    }
+
+    public void test_London_getTransition_cached() {
+        ZoneRules test = europeLondon();
+        LocalDateTime historic = LocalDateTime.of(1990, 3, 25, 1, 30);
+        assertSame(test.getTransition(historic), test.getTransition(historic));
+        LocalDateTime rulesBased = LocalDateTime.of(2008, 3, 30, 1, 30);
+        assertSame(test.getTransition(rulesBased), test.getTransition(rulesBased));
+    }
+
+    public void test_London_getOffsetInfo_overlap_boundaries() {
+        ZoneRules test = europeLondon();
+        // historic
+        LocalDateTime overlapStart = LocalDateTime.of(1990, 10, 28, 1, 0);
+        checkOffset(test, overlapStart.minusNanos(1), OFFSET_PONE, 1);
+        checkOffset(test, overlapStart, OFFSET_PONE, OVERLAP);
+        checkOffset(test, overlapStart.plusNanos(1), OFFSET_PONE, OVERLAP);
+        checkOffset(test, overlapStart.plusHours(1).minusNanos(1), OFFSET_PONE, OVERLAP);
+        checkOffset(test, overlapStart.plusHours(1), OFFSET_ZERO, 1);
+        // rules based
+        overlapStart = LocalDateTime.of(2008, 10, 26, 1, 0);
+        checkOffset(test, overlapStart.minusNanos(1), OFFSET_PONE, 1);
+        checkOffset(test, overlapStart, OFFSET_PONE, OVERLAP);
+        checkOffset(test, overlapStart.plusNanos(1), OFFSET_PONE, OVERLAP);
+        checkOffset(test, overlapStart.plusHours(1).minusNanos(1), OFFSET_PONE, OVERLAP);
+        checkOffset(test, overlapStart.plusHours(1), OFFSET_ZERO, 1);
+    }
+
     public void test_London_getStandardOffset() {
         ZoneRules test = europeLondon();
         ZonedDateTime zdt = createZDT(1840, 1, 1, ZoneOffset.UTC);
@@ -888,6 +969,77 @@ public class TestStandardZoneRules {
         assertEquals(test.nextTransition(last.getInstant()), null);
     }
 
+    //-------------------------------------------------------------------------
+    public void test_London_transitions_matchesNextTransition() {
+        ZoneRules test = europeLondon();
+        Instant start = Instant.ofEpochSecond(Long.MIN_VALUE / 1000);
+        Instant end = ZonedDateTime.of(LocalDateTime.of(2110, 1, 1, 0, 0), ZoneOffset.UTC).toInstant();
+        Iterator<ZoneOffsetTransition> it = test.transitions(start, end);
+        ZoneOffsetTransition expected = test.nextTransition(start);
+        int count = 0;
+        while (expected.getInstant().isBefore(end)) {
+            assertEquals(it.hasNext(), true);
+            assertEquals(it.next(), expected);
+            expected = test.nextTransition(expected.getInstant());
+            count++;
+        }
+        assertEquals(it.hasNext(), false);
+        assertEquals(count, test.getTransitions().size() + (2110 - 1998) * 2);
+    }
+
+    public void test_London_transitions_range() {
+        ZoneRules test = europeLondon();
+        List<ZoneOffsetTransition> trans = test.getTransitions();
+        ZoneOffsetTransition a = trans.get(10);
+        ZoneOffsetTransition b = trans.get(11);
+        ZoneOffsetTransition c = trans.get(12);
+        Iterator<ZoneOffsetTransition> it = test.transitions(a.getInstant(), c.getInstant());
+        assertEquals(it.next(), a);
+        assertEquals(it.next(), b);
+        assertEquals(it.hasNext(), false);
+        it = test.transitions(a.getInstant().plusNanos(1), c.getInstant().plusNanos(1));
+        assertEquals(it.next(), b);
+        assertEquals(it.next(), c);
+        assertEquals(it.hasNext(), false);
+        assertEquals(test.transitions(b.getInstant(), a.getInstant()).hasNext(), false);
+        assertEquals(test.transitions(a.getInstant(), a.getInstant()).hasNext(), false);
+    }
+
+    public void test_London_transitions_rulesBased() {
+        ZoneRules test = europeLondon();
+        List<ZoneOffsetTransitionRule> rules = test.getTransitionRules();
+        ZoneOffsetTransition a = rules.get(0).createTransition(2050);
+        ZoneOffsetTransition b = rules.get(1).createTransition(2050);
+        ZoneOffsetTransition c = rules.get(0).createTransition(2051);
+        Iterator<ZoneOffsetTransition> it = test.transitions(a.getInstant().plusNanos(1), Instant.MAX_INSTANT);
+        assertEquals(it.next(), b);
+        assertEquals(it.next(), c);
+        assertEquals(it.hasNext(), true);
+    }
+
+    public void test_Kathmandu_transitions_afterLast() {
+        ZoneRules test = asiaKathmandu();
+        List<ZoneOffsetTransition> trans = test.getTransitions();
+        ZoneOffsetTransition last = trans.get(trans.size() - 1);
+        Iterator<ZoneOffsetTransition> it = test.transitions(last.getInstant(), Instant.MAX_INSTANT);
+        assertEquals(it.next(), last);
+        assertEquals(it.hasNext(), false);
+    }
+
+    @Test(expectedExceptions=NoSuchElementException.class)
+    public void test_transitions_noMore() {
+        ZoneRules test = asiaKathmandu();
+        test.transitions(Instant.MAX_INSTANT, Instant.MAX_INSTANT).next();
+    }
+
+    @Test(expectedExceptions=UnsupportedOperationException.class)
+    public void test_transitions_immutable() {
+        ZoneRules test = europeParis();
+        Iterator<ZoneOffsetTransition> it = test.transitions(Instant.EPOCH, Instant.MAX_INSTANT);
+        it.next();
+        it.remove();
+    }
+
     //-------------------------------------------------------------------------
     @Test(expectedExceptions=UnsupportedOperationException.class)
     public void test_getTransitions_immutable() {
@@ -961,8 +1113,10 @@ public class TestStandardZoneRules {
         assertEquals(rules.getOffset(dateTime), offset);
         if (type == 1) {
             assertEquals(validOffsets.get(0), offset);
+            assertEquals(rules.getValidOffset(dateTime), offset);
             return null;
         } else {
+            assertEquals(rules.getValidOffset(dateTime), null);
             ZoneOffsetTransition zot = rules.getTransition(dateTime);
             assertNotNull(zot);
             assertEquals(zot.isOverlap(), type == 2);
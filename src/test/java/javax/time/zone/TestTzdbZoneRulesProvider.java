@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2008-2012, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package javax.time.zone;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.StreamCorruptedException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import javax.time.ZoneId;
+import javax.time.zone.TzdbZoneRulesProvider.Version;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Test TzdbZoneRulesProvider.
+ */
+@Test(groups="implementation")
+public class TestTzdbZoneRulesProvider {
+
+    private static final ZoneRules LONDON = ZoneId.of("Europe/London").getRules();
+    private static final ZoneRules PARIS = ZoneId.of("Europe/Paris").getRules();
+    private static final ZoneRules NEW_YORK = ZoneId.of("America/New_York").getRules();
+
+    @DataProvider(name="formats")
+    Object[][] data_formats() {
+        return new Object[][] {
+            {1},
+            {2},
+        };
+    }
+
+    //-----------------------------------------------------------------------
+    // load(ByteBuffer)
+    //-----------------------------------------------------------------------
+    @Test(dataProvider="formats")
+    public void test_load_roundTrip(int format) throws Exception {
+        List<Version> versions = TzdbZoneRulesProvider.load(ByteBuffer.wrap(write(format)));
+        assertEquals(versions.size(), 2);
+        Version v1 = versions.get(0);
+        assertEquals(v1.toString(), "2010a");
+        assertEquals(v1.getRules("America/New_York"), NEW_YORK);
+        assertEquals(v1.getRules("Europe/London"), LONDON);
+        assertNull(v1.getRules("Europe/Paris"));
+        assertNull(v1.getRules("Europe/Unknown"));
+        Version v2 = versions.get(1);
+        assertEquals(v2.toString(), "2010b");
+        assertNull(v2.getRules("America/New_York"));
+        assertEquals(v2.getRules("Europe/London"), LONDON);
+        assertEquals(v2.getRules("Europe/Paris"), PARIS);
+        assertNull(v2.getRules("Europe/Unknown"));
+    }
+
+    @Test(expectedExceptions=StreamCorruptedException.class)
+    public void test_load_unknownFormat() throws Exception {
+        byte[] bytes = write(2);
+        bytes[0] = 3;
+        TzdbZoneRulesProvider.load(ByteBuffer.wrap(bytes));
+    }
+
+    //-----------------------------------------------------------------------
+    // VersionsMap
+    //-----------------------------------------------------------------------
+    public void test_versionsMap() throws Exception {
+        TreeMap<String, Version> versions = new TreeMap<>();
+        for (Version version : TzdbZoneRulesProvider.load(ByteBuffer.wrap(write(2)))) {
+            versions.put(version.toString(), version);
+        }
+        NavigableMap<String, ZoneRules> test = new TzdbZoneRulesProvider.VersionsMap(versions, "Europe/London");
+        TreeMap<String, ZoneRules> expected = new TreeMap<>();
+        expected.put("2010a", LONDON);
+        expected.put("2010b", LONDON);
+        assertEquals(test, expected);
+        assertEquals(test.size(), 2);
+        assertEquals(test.get("2010a"), LONDON);
+        assertNull(test.get("2010c"));
+        assertTrue(test.containsKey("2010b"));
+        assertEquals(test.firstKey(), "2010a");
+        assertEquals(test.lastEntry().getKey(), "2010b");
+        assertEquals(test.lastEntry().getValue(), LONDON);
+        assertEquals(test.floorKey("2010a1"), "2010a");
+        assertEquals(test.higherEntry("2010a").getKey(), "2010b");
+        assertNull(test.higherEntry("2010b"));
+        assertEquals(test.descendingMap().firstKey(), "2010b");
+        assertEquals(test.headMap("2010b").keySet(), new TreeSet<>(Arrays.asList("2010a")));
+        assertEquals(test.tailMap("2010b", true), expected.tailMap("2010b", true));
+        assertEquals(new ArrayList<>(test.descendingKeySet()), Arrays.asList("2010b", "2010a"));
+    }
+
+    @Test(expectedExceptions=UnsupportedOperationException.class)
+    public void test_versionsMap_unmodifiable_entries() throws Exception {
+        TreeMap<String, Version> versions = new TreeMap<>();
+        for (Version version : TzdbZoneRulesProvider.load(ByteBuffer.wrap(write(2)))) {
+            versions.put(version.toString(), version);
+        }
+        NavigableMap<String, ZoneRules> test = new TzdbZoneRulesProvider.VersionsMap(versions, "Europe/London");
+        test.entrySet().iterator().next().setValue(PARIS);
+    }
+
+    @Test(expectedExceptions=UnsupportedOperationException.class)
+    public void test_versionsMap_unmodifiable_keys() throws Exception {
+        TreeMap<String, Version> versions = new TreeMap<>();
+        for (Version version : TzdbZoneRulesProvider.load(ByteBuffer.wrap(write(2)))) {
+            versions.put(version.toString(), version);
+        }
+        NavigableMap<String, ZoneRules> test = new TzdbZoneRulesProvider.VersionsMap(versions, "Europe/London");
+        test.navigableKeySet().remove("2010a");
+    }
+
+    //-----------------------------------------------------------------------
+    // provideRefresh()
+    //-----------------------------------------------------------------------
+    public void test_provideRefresh() throws Exception {
+        Path dir = Files.createTempDirectory("tzdb");
+        try {
+            Path file = dir.resolve("javax/time/zone/TZDB.dat");
+            Files.createDirectories(file.getParent());
+            Files.write(file, write(2, "2010a", "Europe/London", LONDON));
+            URLClassLoader classLoader = new URLClassLoader(new URL[] {dir.toUri().toURL()}, null);
+            TzdbZoneRulesProvider test = new TzdbZoneRulesProvider(classLoader, true);
+            assertTrue(test.provideDynamic());
+            assertSame(test.provideBind("Europe/London"), test);
+            assertEquals(test.provideRules("Europe/London"), LONDON);
+            assertEquals(test.provideRefresh(), false);
+
+            // replace the file, as a refreshed file would be
+            Path tmp = dir.resolve("TZDB.tmp");
+            Files.write(tmp, write(2, "2010b", "Europe/London", PARIS, "Europe/Paris", PARIS));
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+            Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 2000));
+
+            assertEquals(test.provideRefresh(), true);
+            assertEquals(test.provideRules("Europe/London"), PARIS);
+            assertEquals(test.provideRules("Europe/Paris"), PARIS);
+            assertEquals(test.provideZoneIds(), new HashSet<>(Arrays.asList("Europe/London", "Europe/Paris")));
+            NavigableMap<String, ZoneRules> versions = test.provideVersions("Europe/London");
+            assertEquals(versions.size(), 2);
+            assertEquals(versions.get("2010a"), LONDON);
+            assertEquals(versions.get("2010b"), PARIS);
+            assertEquals(test.provideRefresh(), false);
+        } finally {
+            Files.deleteIfExists(dir.resolve("javax/time/zone/TZDB.dat"));
+            Files.deleteIfExists(dir.resolve("javax/time/zone"));
+            Files.deleteIfExists(dir.resolve("javax/time"));
+            Files.deleteIfExists(dir.resolve("javax"));
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    public void test_notRefreshable() throws Exception {
+        TzdbZoneRulesProvider test = new TzdbZoneRulesProvider(ClassLoader.getSystemClassLoader(), false);
+        assertFalse(test.provideDynamic());
+        assertEquals(test.provideRefresh(), false);
+    }
+
+    //-----------------------------------------------------------------------
+    private byte[] write(int format, String version, Object... regionRules) throws Exception {
+        SortedMap<String, ZoneRules> zones = new TreeMap<>();
+        for (int i = 0; i < regionRules.length; i += 2) {
+            zones.put((String) regionRules[i], (ZoneRules) regionRules[i + 1]);
+        }
+        Map<String, SortedMap<String, ZoneRules>> allBuiltZones = new TreeMap<>();
+        allBuiltZones.put(version, zones);
+        return write(format, allBuiltZones);
+    }
+
+    private byte[] write(int format) throws Exception {
+        Map<String, SortedMap<String, ZoneRules>> allBuiltZones = new TreeMap<>();
+        SortedMap<String, ZoneRules> zones1 = new TreeMap<>();
+        zones1.put("America/New_York", NEW_YORK);
+        zones1.put("Europe/London", LONDON);
+        allBuiltZones.put("2010a", zones1);
+        SortedMap<String, ZoneRules> zones2 = new TreeMap<>();
+        zones2.put("Europe/London", LONDON);
+        zones2.put("Europe/Paris", PARIS);
+        allBuiltZones.put("2010b", zones2);
+        return write(format, allBuiltZones);
+    }
+
+    private byte[] write(int format, Map<String, SortedMap<String, ZoneRules>> allBuiltZones) throws Exception {
+        Set<String> allRegionIds = new TreeSet<>();
+        Set<ZoneRules> allRules = new HashSet<>();
+        for (SortedMap<String, ZoneRules> zones : allBuiltZones.values()) {
+            allRegionIds.addAll(zones.keySet());
+            allRules.addAll(zones.values());
+        }
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(baos)) {
+            if (format == 1) {
+                TzdbZoneRulesCompiler.outputTZData1(out, allBuiltZones, allRegionIds, allRules);
+            } else {
+                TzdbZoneRulesCompiler.outputTZData2(out, allBuiltZones, allRegionIds, allRules);
+            }
+        }
+        return baos.toByteArray();
+    }
+
+}
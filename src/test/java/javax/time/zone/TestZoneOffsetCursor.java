@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2012, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package javax.time.zone;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Random;
+
+import javax.time.Instant;
+import javax.time.LocalDateTime;
+import javax.time.ZoneId;
+import javax.time.ZoneOffset;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Test ZoneOffsetCursor.
+ */
+@Test(groups="implementation")
+public class TestZoneOffsetCursor {
+
+    private static final long MIN_SECOND = LocalDateTime.of(1800, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+    private static final long MAX_SECOND = LocalDateTime.of(2200, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+
+    @DataProvider(name="zones")
+    Object[][] data_zones() {
+        return new Object[][] {
+            {"Europe/London"},
+            {"America/New_York"},
+            {"Asia/Kathmandu"},
+            {"Australia/Lord_Howe"},
+            {"UTC"},
+            {"+02:00"},
+        };
+    }
+
+    //-----------------------------------------------------------------------
+    @Test(dataProvider="zones")
+    public void test_getOffset_increasing(String zoneId) {
+        ZoneRules rules = ZoneId.of(zoneId).getRules();
+        long[] seconds = randomSeconds(20000);
+        Arrays.sort(seconds);
+        ZoneOffsetCursor test = rules.offsetCursor();
+        for (long epochSec : seconds) {
+            assertEquals(test.getOffset(epochSec), rules.getOffset(epochSec), "Epoch second " + epochSec);
+        }
+    }
+
+    @Test(dataProvider="zones")
+    public void test_getOffset_random(String zoneId) {
+        ZoneRules rules = ZoneId.of(zoneId).getRules();
+        ZoneOffsetCursor test = rules.offsetCursor();
+        for (long epochSec : randomSeconds(20000)) {
+            assertEquals(test.getOffset(epochSec), rules.getOffset(epochSec), "Epoch second " + epochSec);
+        }
+    }
+
+    @Test(dataProvider="zones")
+    public void test_getOffset_aroundTransitions(String zoneId) {
+        ZoneRules rules = ZoneId.of(zoneId).getRules();
+        ZoneOffsetCursor test = rules.offsetCursor();
+        Instant end = LocalDateTime.of(2200, 1, 1, 0, 0).toInstant(ZoneOffset.UTC);
+        ZoneOffsetTransition trans = rules.nextTransition(Instant.ofEpochSecond(MIN_SECOND));
+        while (trans != null && trans.getInstant().isBefore(end)) {
+            long epochSec = trans.toEpochSecond();
+            assertEquals(test.getOffset(epochSec - 1), trans.getOffsetBefore());
+            assertEquals(test.getOffset(epochSec), trans.getOffsetAfter());
+            assertEquals(test.getOffset(epochSec - 1), trans.getOffsetBefore());
+            assertEquals(test.getOffset(Instant.ofEpochSecond(epochSec + 1)), trans.getOffsetAfter());
+            trans = rules.nextTransition(trans.getInstant());
+        }
+    }
+
+    public void test_getOffset_backwardWithinWindow() {
+        final ZoneRules rules = ZoneId.of("Europe/London").getRules();
+        final int[] searches = new int[1];
+        ZoneRules counting = (ZoneRules) Proxy.newProxyInstance(
+                ZoneRules.class.getClassLoader(), new Class<?>[] {ZoneRules.class}, new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                if (method.getName().equals("getOffset")) {
+                    searches[0]++;
+                }
+                return method.invoke(rules, args);
+            }
+        });
+        // 2012-03-25T01:00Z to 2012-10-28T01:00Z is a single window of +01:00
+        long start = LocalDateTime.of(2012, 3, 25, 1, 0).toEpochSecond(ZoneOffset.UTC);
+        long end = LocalDateTime.of(2012, 10, 28, 1, 0).toEpochSecond(ZoneOffset.UTC);
+        ZoneOffsetCursor test = ZoneOffsetCursor.of(counting);
+        long mid = (start + end) / 2;
+        assertEquals(test.getOffset(mid), ZoneOffset.ofHours(1));
+        assertEquals(searches[0], 1);
+        for (long epochSec : new long[] {mid - 1, mid - 3600, mid + 10, start, mid - 86400 * 30, end - 1}) {
+            assertEquals(test.getOffset(epochSec), ZoneOffset.ofHours(1), "Epoch second " + epochSec);
+        }
+        assertEquals(searches[0], 1);
+        assertEquals(test.getOffset(start - 1), ZoneOffset.UTC);
+        assertEquals(test.getOffset(end), ZoneOffset.UTC);
+        assertEquals(searches[0], 3);
+    }
+
+    public void test_getRules() {
+        ZoneRules rules = ZoneId.of("Europe/London").getRules();
+        assertSame(rules.offsetCursor().getRules(), rules);
+        assertSame(ZoneOffsetCursor.of(rules).getRules(), rules);
+    }
+
+    @Test(expectedExceptions=NullPointerException.class)
+    public void test_of_null() {
+        ZoneOffsetCursor.of(null);
+    }
+
+    //-----------------------------------------------------------------------
+    private static long[] randomSeconds(int size) {
+        Random random = new Random(size);
+        long[] seconds = new long[size];
+        for (int i = 0; i < size; i++) {
+            seconds[i] = MIN_SECOND + (long) (random.nextDouble() * (MAX_SECOND - MIN_SECOND));
+        }
+        return seconds;
+    }
+
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2012, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package javax.time.zone;
+
+import static org.testng.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import javax.time.LocalDateTime;
+import javax.time.ZoneId;
+import javax.time.ZoneOffset;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Test bulk offset calculation.
+ */
+@Test(groups="implementation")
+public class TestZoneRulesBatch {
+
+    private static final long MIN_SECOND = LocalDateTime.of(1800, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+    private static final long MAX_SECOND = LocalDateTime.of(2200, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+
+    @DataProvider(name="zones")
+    Object[][] data_zones() {
+        return new Object[][] {
+            {"Europe/London"},
+            {"Europe/Paris"},
+            {"America/New_York"},
+            {"Asia/Kathmandu"},
+            {"Australia/Lord_Howe"},
+            {"Africa/Casablanca"},
+            {"UTC"},
+            {"+02:00"},
+        };
+    }
+
+    //-----------------------------------------------------------------------
+    @Test(dataProvider="zones")
+    public void test_getOffsets_unsorted(String zoneId) {
+        ZoneRules rules = ZoneId.of(zoneId).getRules();
+        long[] seconds = randomSeconds(20000, false);
+        int[] out = new int[seconds.length];
+        rules.getOffsets(seconds, 0, seconds.length, out);
+        assertOffsets(rules, seconds, 0, seconds.length, out);
+    }
+
+    @Test(dataProvider="zones")
+    public void test_getOffsets_sorted(String zoneId) {
+        ZoneRules rules = ZoneId.of(zoneId).getRules();
+        long[] seconds = randomSeconds(20000, true);
+        int[] out = new int[seconds.length];
+        rules.getOffsets(seconds, 0, seconds.length, out);
+        assertOffsets(rules, seconds, 0, seconds.length, out);
+    }
+
+    @Test(dataProvider="zones")
+    public void test_getOffsets_transitions(String zoneId) {
+        ZoneRules rules = ZoneId.of(zoneId).getRules();
+        long[] seconds = transitionSeconds(rules);
+        int[] out = new int[seconds.length];
+        rules.getOffsets(seconds, 0, seconds.length, out);
+        assertOffsets(rules, seconds, 0, seconds.length, out);
+    }
+
+    @Test(dataProvider="zones")
+    public void test_getLocalOffsets_unsorted(String zoneId) {
+        ZoneRules rules = ZoneId.of(zoneId).getRules();
+        long[] seconds = randomSeconds(20000, false);
+        int[] out = new int[seconds.length];
+        rules.getLocalOffsets(seconds, 0, seconds.length, out);
+        assertLocalOffsets(rules, seconds, 0, seconds.length, out);
+    }
+
+    @Test(dataProvider="zones")
+    public void test_getLocalOffsets_sorted(String zoneId) {
+        ZoneRules rules = ZoneId.of(zoneId).getRules();
+        long[] seconds = randomSeconds(20000, true);
+        int[] out = new int[seconds.length];
+        rules.getLocalOffsets(seconds, 0, seconds.length, out);
+        assertLocalOffsets(rules, seconds, 0, seconds.length, out);
+    }
+
+    @Test(dataProvider="zones")
+    public void test_getLocalOffsets_transitions(String zoneId) {
+        ZoneRules rules = ZoneId.of(zoneId).getRules();
+        long[] seconds = transitionSeconds(rules);
+        int[] out = new int[seconds.length];
+        rules.getLocalOffsets(seconds, 0, seconds.length, out);
+        assertLocalOffsets(rules, seconds, 0, seconds.length, out);
+    }
+
+    public void test_getOffsets_range() {
+        ZoneRules rules = ZoneId.of("Europe/London").getRules();
+        long[] seconds = randomSeconds(100, true);
+        int[] out = new int[seconds.length];
+        Arrays.fill(out, Integer.MIN_VALUE);
+        rules.getOffsets(seconds, 10, 20, out);
+        assertOffsets(rules, seconds, 10, 20, out);
+        assertEquals(out[9], Integer.MIN_VALUE);
+        assertEquals(out[20], Integer.MIN_VALUE);
+    }
+
+    @Test(expectedExceptions=IndexOutOfBoundsException.class)
+    public void test_getOffsets_outputTooSmall() {
+        ZoneRules rules = ZoneId.of("Europe/London").getRules();
+        rules.getOffsets(new long[10], 0, 10, new int[9]);
+    }
+
+    @Test(expectedExceptions=IndexOutOfBoundsException.class)
+    public void test_getLocalOffsets_badRange() {
+        ZoneRules rules = ZoneId.of("Europe/London").getRules();
+        rules.getLocalOffsets(new long[10], 5, 4, new int[10]);
+    }
+
+    //-----------------------------------------------------------------------
+    @Test(dataProvider="zones")
+    public void test_parallel(String zoneId) {
+        ZoneRules rules = ZoneId.of(zoneId).getRules();
+        long[] seconds = randomSeconds(ZoneRulesBatch.THRESHOLD * 3 + 7, true);
+        int[] expected = new int[seconds.length];
+        int[] out = new int[seconds.length];
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            rules.getOffsets(seconds, 0, seconds.length, expected);
+            ZoneRulesBatch.getOffsets(rules, seconds, 0, seconds.length, out, pool);
+            assertEquals(out, expected);
+            rules.getLocalOffsets(seconds, 1, seconds.length, expected);
+            ZoneRulesBatch.getLocalOffsets(rules, seconds, 1, seconds.length, out, pool);
+            assertEquals(out, expected);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test(expectedExceptions=IndexOutOfBoundsException.class)
+    public void test_parallel_badRange() {
+        ZoneRules rules = ZoneId.of("Europe/London").getRules();
+        ZoneRulesBatch.getOffsets(rules, new long[10], 0, 11, new int[11], new ForkJoinPool(1));
+    }
+
+    //-----------------------------------------------------------------------
+    private static long[] randomSeconds(int size, boolean sorted) {
+        Random random = new Random(size);
+        long[] seconds = new long[size];
+        for (int i = 0; i < size; i++) {
+            seconds[i] = MIN_SECOND + (long) (random.nextDouble() * (MAX_SECOND - MIN_SECOND));
+        }
+        if (sorted) {
+            Arrays.sort(seconds);
+        }
+        return seconds;
+    }
+
+    /**
+     * Creates epoch-seconds either side of each transition, sorted, including
+     * those from the last rules, which are valid as both instant and local seconds.
+     */
+    private static long[] transitionSeconds(ZoneRules rules) {
+        long[] seconds = new long[0];
+        int count = 0;
+        Iterator<ZoneOffsetTransition> it = rules.transitions(
+                LocalDateTime.of(1800, 1, 1, 0, 0).toInstant(ZoneOffset.UTC),
+                LocalDateTime.of(2200, 1, 1, 0, 0).toInstant(ZoneOffset.UTC));
+        while (it.hasNext()) {
+            ZoneOffsetTransition trans = it.next();
+            long[] around = {
+                trans.toEpochSecond() - 1, trans.toEpochSecond(), trans.toEpochSecond() + 1,
+                trans.toLocalEpochSecondBefore() - 1, trans.toLocalEpochSecondBefore(),
+                trans.toLocalEpochSecondAfter() - 1, trans.toLocalEpochSecondAfter(),
+            };
+            if (count + around.length > seconds.length) {
+                seconds = Arrays.copyOf(seconds, seconds.length * 2 + around.length);
+            }
+            System.arraycopy(around, 0, seconds, count, around.length);
+            count += around.length;
+        }
+        seconds = Arrays.copyOf(seconds, count);
+        Arrays.sort(seconds);
+        return seconds;
+    }
+
+    private static void assertOffsets(ZoneRules rules, long[] seconds, int fromIndex, int toIndex, int[] out) {
+        for (int i = fromIndex; i < toIndex; i++) {
+            assertEquals(out[i], rules.getOffset(seconds[i]).getTotalSeconds(), "Epoch second " + seconds[i]);
+        }
+    }
+
+    private static void assertLocalOffsets(ZoneRules rules, long[] seconds, int fromIndex, int toIndex, int[] out) {
+        for (int i = fromIndex; i < toIndex; i++) {
+            LocalDateTime ldt = LocalDateTime.ofEpochSecond(seconds[i], 0, ZoneOffset.UTC);
+            assertEquals(out[i], rules.getOffset(ldt).getTotalSeconds(), "Local epoch second " + seconds[i]);
+        }
+    }
+
+}